@@ -0,0 +1,23 @@
+-- 출퇴근 (member_id, work_date) 유니크 인덱스 적용 (MySQL)
+-- 중복 행이 있으면 인덱스를 만들 수 없으므로, 먼저 하루 한 행으로 합친 뒤 인덱스를 추가합니다.
+-- 남기는 행: 가장 작은 id / 출근: 가장 이른 시각 / 퇴근: 가장 늦은 시각
+
+UPDATE attendance a
+JOIN (
+    SELECT member_id, work_date, MIN(id) AS keep_id, MIN(check_in_at) AS first_in, MAX(check_out_at) AS last_out
+    FROM attendance
+    GROUP BY member_id, work_date
+    HAVING COUNT(*) > 1
+) d ON a.id = d.keep_id
+SET a.check_in_at = d.first_in,
+    a.check_out_at = d.last_out;
+
+DELETE a FROM attendance a
+JOIN (
+    SELECT member_id, work_date, MIN(id) AS keep_id
+    FROM attendance
+    GROUP BY member_id, work_date
+    HAVING COUNT(*) > 1
+) d ON a.member_id = d.member_id AND a.work_date = d.work_date AND a.id <> d.keep_id;
+
+ALTER TABLE attendance ADD UNIQUE INDEX ux_attendance_member_work_date (member_id, work_date);
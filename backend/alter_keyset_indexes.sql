@@ -0,0 +1,5 @@
+-- 커서(키셋) 페이지 조회용 복합 인덱스 (MySQL)
+-- 애플리케이션(ddl-auto: update)이 자동으로 만들지만, 운영 DB에 미리 적용하려면 아래를 실행하세요.
+
+ALTER TABLE notices ADD INDEX idx_notices_category_created_id (category, created_at, id);
+ALTER TABLE projects ADD INDEX idx_projects_created_id (created_at, id);
@@ -0,0 +1,11 @@
+-- notice_attachments.file_key 에 고유 인덱스 추가 (MySQL)
+-- /api/notices/files/download?fileKey= 조회가 전체 스캔 대신 인덱스를 사용하도록 합니다.
+
+-- 1) 기존 고유 제약 이름 확인 (이미 UK_ 로 시작하는 제약이 있다면 2번에서 제거)
+--    실행: SHOW INDEX FROM notice_attachments;
+
+-- 2) 기존 제약 드롭 (아래에서 `UK_NAME_HERE` 를 1번에서 확인한 실제 이름으로 바꾸세요)
+-- ALTER TABLE notice_attachments DROP INDEX `UK_NAME_HERE`;
+
+-- 3) 고유 인덱스 생성
+ALTER TABLE notice_attachments ADD UNIQUE INDEX ux_notice_attachments_file_key (file_key);
@@ -0,0 +1,6 @@
+-- notice_attachments.stored_path 인덱스 (MySQL)
+-- 관리자 API /api/files/admin/usage?path= 가 첨부 전체를 훑지 않고 인덱스로 찾도록 합니다.
+-- 애플리케이션(ddl-auto: update)이 자동으로 만들지만, 운영 DB에 미리 적용하려면 아래를 실행하세요.
+-- (upload_reference 테이블은 새 테이블이므로 애플리케이션이 인덱스와 함께 만듭니다.)
+
+ALTER TABLE notice_attachments ADD INDEX idx_notice_attachments_stored_path (stored_path);
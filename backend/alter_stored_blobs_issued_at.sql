@@ -0,0 +1,5 @@
+-- stored_blobs.issued_at 컬럼 추가 (MySQL)
+-- 업로드 응답으로 나간 뒤 아직 글에 저장되지 않은 파일이 다른 글의 참조 해제로 지워지지 않도록 마지막으로 돌려준 시각을 기록합니다.
+-- 애플리케이션(ddl-auto: update)이 자동으로 만들지만, 운영 DB에 미리 적용하려면 아래를 실행하세요.
+
+ALTER TABLE stored_blobs ADD COLUMN issued_at DATETIME(6) NULL;
@@ -0,0 +1,6 @@
+-- upload_reference.stored_path 길이 확장 (MySQL)
+-- 255자를 넘는 예전 업로드 경로가 본문에 있으면 글 저장이 실패하던 문제를 막습니다.
+-- 애플리케이션(ddl-auto: update)은 기존 컬럼 길이를 바꾸지 않으므로 운영 DB에는 아래를 실행하세요.
+-- (utf8mb4 기준 유니크 인덱스 ux_upload_reference_owner_path 는 InnoDB 인덱스 길이 제한 3072바이트 안에 들어갑니다.)
+
+ALTER TABLE upload_reference MODIFY COLUMN stored_path VARCHAR(512) NOT NULL;
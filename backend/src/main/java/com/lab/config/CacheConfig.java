@@ -0,0 +1,12 @@
+package com.lab.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// 캐시 저장소(Caffeine)와 캐시 이름/크기는 application.yml 의 spring.cache 설정을 따름
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
+
+// 애플리케이션 캐시 설정입니다.
@@ -2,23 +2,72 @@ package com.lab.config;
 
 import com.lab.domain.*;
 import com.lab.repository.*;
+import com.lab.service.VersionedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
- 
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 public class DataSeeder implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    // 시드 내용을 바꾸면 올림. app_meta 에 기록된 버전 이상이면 시드를 건너뜀
+    private static final int SEED_VERSION = 1;
+    private static final String SEED_VERSION_KEY = "seed.version";
+
     private final MemberRepository memberRepository;
     private final LabInfoRepository labInfoRepository;
-    private final ProjectRepository projectRepository;
+    private final AppMetaRepository appMetaRepository;
+    private final VersionedCache versionedCache;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void run(ApplicationArguments args) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failed";
+        try {
+            result = new TransactionTemplate(transactionManager).execute(status -> seed());
+        } finally {
+            long nanos = sample.stop(Timer.builder("data_seeder.duration").tag("result", result).register(meterRegistry));
+            logger.info("초기 데이터 시드: {} ({}ms)", result, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    private String seed() {
+        // 여러 서버가 동시에 기동하면 먼저 잠금을 잡은 쪽만 시드하고, 나머지는 기록된 버전을 보고 건너뜀
+        appMetaRepository.insertIfAbsent(SEED_VERSION_KEY, "0");
+        AppMeta meta = appMetaRepository.lockByKey(SEED_VERSION_KEY)
+                .orElseThrow(() -> new IllegalStateException("app_meta 기록을 찾을 수 없습니다: " + SEED_VERSION_KEY));
+        if (appliedVersion(meta) >= SEED_VERSION) {
+            return "skipped";
+        }
 
+        seedAdmin();
+        seedLabInfo();
+
+        meta.setMetaValue(String.valueOf(SEED_VERSION));
+        meta.setUpdatedAt(Instant.now());
+        // 서버가 요청을 받기 시작한 뒤 실행되므로 그 사이 캐시된 값은 버림 (커밋 후)
+        versionedCache.evict(VersionedCache.MEMBER_ROSTER, VersionedCache.LAB_INFO);
+        return "seeded";
+    }
+
+    private void seedAdmin() {
         // admin 계정 생성
         Member admin = getByLoginOrName("admin", "admin");
         if (admin.getId() == null) {
@@ -34,8 +83,33 @@ public class DataSeeder implements ApplicationRunner {
             if (!admin.isAdmin()) { admin.setAdmin(true); changed = true; }
             if (changed) memberRepository.save(admin);
         }
+    }
+
+    private void seedLabInfo() {
+        List<LabInfo> rows = labInfoRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt"));
+        if (rows.isEmpty()) {
+            // 실험실 정보 생성: 교수 역할의 멤버를 director 로 설정 (없으면 null)
+            LabInfo labInfo = defaultLabInfo();
+            labInfo.setDirector(memberRepository.findFirstByRoleOrderByIdAsc(Role.PROFESSOR).orElse(null));
+            labInfoRepository.save(labInfo);
+            return;
+        }
+
+        // 이전 버전은 기동할 때마다 기본값 행을 새로 넣어, 관리자가 수정한 행이 더 최근의 기본값 행에 가려졌음.
+        // 기본값과 다른 행 중 가장 최근 것을 남기고(없으면 가장 최근 행) 나머지는 삭제
+        LabInfo defaults = defaultLabInfo();
+        LabInfo keep = rows.stream()
+                .filter(row -> !sameContent(row, defaults))
+                .findFirst()
+                .orElse(rows.get(0));
+        List<LabInfo> duplicates = rows.stream().filter(row -> row != keep).toList();
+        if (!duplicates.isEmpty()) {
+            labInfoRepository.deleteAllInBatch(duplicates);
+            logger.info("중복된 실험실 정보 {}건을 정리했습니다. (남긴 ID: {})", duplicates.size(), keep.getId());
+        }
+    }
 
-        // 실험실 정보 생성
+    private static LabInfo defaultLabInfo() {
         LabInfo labInfo = new LabInfo();
         labInfo.setLabName("실감 멀티미디어 연구실");
         labInfo.setDescription("실감 멀티미디어 연구실은 VR/AR, 컴퓨터 그래픽스, 실시간 렌더링 등의 분야를 연구합니다.");
@@ -44,15 +118,25 @@ public class DataSeeder implements ApplicationRunner {
         labInfo.setLocation("순천대학교 공과대학 3호관 403호");
         labInfo.setContactEmail("ksshin@knu.ac.kr");
         labInfo.setContactPhone("053-950-5555");
-        // 교수 역할의 멤버를 찾아서 director로 설정 (없으면 null)
-        Member director = memberRepository.findAll().stream()
-                .filter(m -> m.getRole() == Role.PROFESSOR)
-                .findFirst()
-                .orElse(null);
-        labInfo.setDirector(director);
-        labInfoRepository.save(labInfo);
+        return labInfo;
+    }
 
-        // 프로젝트 자동 생성 제거(초기 데이터 강제 주입하지 않음)
+    private static boolean sameContent(LabInfo a, LabInfo b) {
+        return Objects.equals(a.getLabName(), b.getLabName())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getResearchAreas(), b.getResearchAreas())
+                && Objects.equals(a.getFacilities(), b.getFacilities())
+                && Objects.equals(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getContactEmail(), b.getContactEmail())
+                && Objects.equals(a.getContactPhone(), b.getContactPhone());
+    }
+
+    private static int appliedVersion(AppMeta meta) {
+        try {
+            return meta.getMetaValue() == null ? 0 : Integer.parseInt(meta.getMetaValue().trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     private Member getByLoginOrName(String loginId, String name) {
@@ -63,4 +147,3 @@ public class DataSeeder implements ApplicationRunner {
 }
 
 // 초기 멤버 시드 데이터입니다. 요청 헤더 X-USER 값과 일치해야 합니다.
-
@@ -0,0 +1,37 @@
+package com.lab.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * 점(.)으로 시작하는 경로 요소가 있는 요청을 404 로 처리합니다.
+ * uploads/.partial(완료 전 청크 업로드), uploads/.tmp(업로드 임시 파일), .variant-*(축소본 생성 중) 는
+ * 같은 폴더 아래에 있지만 공개 파일이 아니므로, 업로드 ID 를 아는 사람이 소유자 확인 없이 읽을 수 없게 합니다.
+ */
+public class HiddenPathResourceResolver implements ResourceResolver {
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        return isHidden(requestPath) ? null : chain.resolveResource(request, requestPath, locations);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return isHidden(resourcePath) ? null : chain.resolveUrlPath(resourcePath, locations);
+    }
+
+    static boolean isHidden(String path) {
+        if (path == null) return false;
+        for (String segment : path.replace('\\', '/').split("/")) {
+            if (segment.startsWith(".")) return true;
+        }
+        return false;
+    }
+}
+
+// 업로드 폴더의 숨김 경로(작업 중인 파일)를 공개하지 않는 리졸버입니다.
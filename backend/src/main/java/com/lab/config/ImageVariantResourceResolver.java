@@ -0,0 +1,58 @@
+package com.lab.config;
+
+import com.lab.service.ImageDerivativeService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * /uploads/** 요청에 ?w=너비 가 있으면 해당 너비 이상의 가장 작은 축소본을 돌려줍니다.
+ * 축소본이 아직 없으면 원본을 돌려주고 생성 작업을 예약합니다. 이 임시 응답은 {@link UploadCacheControlFilter} 가
+ * 오래 캐시되지 않게 합니다.
+ */
+public class ImageVariantResourceResolver implements ResourceResolver {
+    // 축소본 대신 원본을 임시로 돌려준 요청 표시
+    static final String FALLBACK_ATTRIBUTE = ImageVariantResourceResolver.class.getName() + ".FALLBACK";
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    public ImageVariantResourceResolver(ImageDerivativeService imageDerivativeService) {
+        this.imageDerivativeService = imageDerivativeService;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource original = chain.resolveResource(request, requestPath, locations);
+        if (original == null || request == null) return original;
+        int width = parseWidth(request.getParameter("w"));
+        if (width <= 0 || !ImageDerivativeService.isSupported(requestPath)) return original;
+
+        String variant = imageDerivativeService.variantFor("/" + requestPath, width);
+        if (variant == null) return original;
+        Resource resolved = chain.resolveResource(request, variant.substring(1), locations);
+        if (resolved != null) return resolved;
+        imageDerivativeService.submit("/uploads/" + requestPath);
+        request.setAttribute(FALLBACK_ATTRIBUTE, Boolean.TRUE);
+        return original;
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+
+    private static int parseWidth(String value) {
+        if (value == null || value.isEmpty() || value.length() > 5) return -1;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
+
+// 업로드 이미지 축소본 선택 리졸버입니다.
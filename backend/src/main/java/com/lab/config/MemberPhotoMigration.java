@@ -0,0 +1,50 @@
+package com.lab.config;
+
+import com.lab.domain.Member;
+import com.lab.repository.MemberRepository;
+import com.lab.service.MemberPhotoService;
+import com.lab.service.VersionedCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(10)
+@RequiredArgsConstructor
+public class MemberPhotoMigration implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(MemberPhotoMigration.class);
+
+    private final MemberRepository memberRepository;
+    private final MemberPhotoService memberPhotoService;
+    private final VersionedCache versionedCache;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // base64 로 저장된 사진이 남아 있는 멤버만 (없으면 쿼리 1회로 끝남)
+        List<Long> ids = memberRepository.findIdsWithInlinePhoto();
+        if (ids.isEmpty()) return;
+
+        int moved = 0;
+        for (Long id : ids) {
+            Member m = memberRepository.findById(id).orElse(null);
+            if (m == null || m.getPhotoUrl() == null || !m.getPhotoUrl().startsWith("data:")) continue;
+            try {
+                m.setPhotoUrl(memberPhotoService.replacePhoto(null, m.getPhotoUrl()));
+                memberRepository.save(m);
+                moved++;
+            } catch (Exception e) {
+                logger.warn("프로필 사진 이전 실패 - 멤버 ID: {} ({})", id, e.getMessage());
+            }
+        }
+        if (moved > 0) versionedCache.evict(VersionedCache.MEMBER_ROSTER, VersionedCache.LAB_INFO);
+        logger.info("base64 프로필 사진 {}건을 업로드 저장소로 이전했습니다.", moved);
+    }
+}
+
+// 기존 base64 프로필 사진을 members 테이블 밖(업로드 저장소)으로 옮기는 일회성 마이그레이션입니다.
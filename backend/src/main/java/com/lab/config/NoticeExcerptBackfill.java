@@ -0,0 +1,43 @@
+package com.lab.config;
+
+import com.lab.domain.Notice;
+import com.lab.repository.NoticeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(20)
+@RequiredArgsConstructor
+public class NoticeExcerptBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(NoticeExcerptBackfill.class);
+    private static final int BATCH_SIZE = 200;
+
+    private final NoticeRepository noticeRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int filled = 0;
+        while (true) {
+            // 요약이 없는 글만 조금씩 채움 (모두 채워진 뒤에는 쿼리 1회로 끝남)
+            List<Notice> batch = noticeRepository.findWithoutExcerpt(PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) break;
+            for (Notice n : batch) {
+                n.setExcerpt(Notice.excerptOf(n.getContent()));
+            }
+            noticeRepository.saveAll(batch);
+            filled += batch.size();
+            if (batch.size() < BATCH_SIZE) break;
+        }
+        if (filled > 0) logger.info("공지 요약(excerpt) {}건을 채웠습니다.", filled);
+    }
+}
+
+// 기존 공지의 목록용 요약(excerpt)을 채우는 일회성 마이그레이션입니다.
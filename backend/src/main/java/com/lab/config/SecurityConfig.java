@@ -3,6 +3,7 @@ package com.lab.config;
 import com.lab.util.JwtUtil;
 import com.lab.web.filter.JwtAuthenticationFilter;
 import com.lab.web.filter.RateLimitingFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -44,12 +45,16 @@ public class SecurityConfig {
             .addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class) // Rate Limiting을 가장 먼저 적용
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(auth -> auth
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // 비동기 응답(SSE 등)의 재디스패치는 최초 요청에서 이미 인가됨
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/upload").authenticated() // 파일 업로드는 인증 필요
+                .requestMatchers("/api/chunked-uploads/**").authenticated() // 청크 업로드도 인증 필요
                 .requestMatchers("/api/**/admin/**").authenticated() // 관리자 API는 인증 필요
                 .requestMatchers("/api/**/me/**").authenticated() // 개인 정보 API는 인증 필요
                 .requestMatchers("/api/attendance/**").authenticated() // 출퇴근은 인증 필요
                 .requestMatchers("/uploads/**").permitAll() // 정적 파일은 공개
+                .requestMatchers("/actuator/health").permitAll() // 헬스 체크는 공개
+                .requestMatchers("/actuator/**").authenticated() // 운영 지표는 인증 필요
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").denyAll() // Swagger UI 비활성화 (보안)
                 .anyRequest().permitAll() // 나머지는 공개
             );
@@ -0,0 +1,52 @@
+package com.lab.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * ?w= 요청에 축소본 대신 원본을 임시로 돌려준 경우, 1년 immutable 캐시 대신 no-cache 로 내보냅니다.
+ * 그렇지 않으면 브라우저/CDN 이 축소본이 생긴 뒤에도 큰 원본을 계속 씁니다.
+ */
+public class UploadCacheControlFilter extends OncePerRequestFilter {
+    private static final String NO_CACHE = CacheControl.noCache().getHeaderValue();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getParameter("w") == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new HttpServletResponseWrapper(response) {
+            @Override
+            public void setHeader(String name, String value) {
+                super.setHeader(name, override(name, value));
+            }
+
+            @Override
+            public void addHeader(String name, String value) {
+                super.addHeader(name, override(name, value));
+            }
+
+            // 리졸버가 원본으로 대신했다고 표시한 요청만 바꿈 (헤더는 리소스를 고른 뒤에 설정됨)
+            private String override(String name, String value) {
+                if (HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(name)
+                        && request.getAttribute(ImageVariantResourceResolver.FALLBACK_ATTRIBUTE) != null) {
+                    return NO_CACHE;
+                }
+                return value;
+            }
+        });
+    }
+}
+
+// 업로드 이미지 임시 응답의 캐시 설정 필터입니다.
@@ -0,0 +1,125 @@
+package com.lab.config;
+
+import com.lab.domain.AppMeta;
+import com.lab.domain.UploadReference;
+import com.lab.repository.AppMetaRepository;
+import com.lab.repository.NoticeRepository;
+import com.lab.repository.OwnerTextRow;
+import com.lab.repository.ProjectRepository;
+import com.lab.service.UploadReferenceService;
+import com.lab.service.UploadStorageService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@Order(30)
+@RequiredArgsConstructor
+public class UploadReferenceBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(UploadReferenceBackfill.class);
+    private static final int BATCH_SIZE = 200;
+
+    // 색인 이전에 프로젝트 저장 시 참조 수를 올리던 패턴 (이미 올린 참조를 다시 올리지 않기 위해 백필에서만 사용)
+    private static final List<Pattern> LEGACY_PROJECT_REFS = List.of(
+            Pattern.compile("!\\[[^\\]]*\\]\\(([^)]+)\\)"),
+            Pattern.compile("\\[파일\\]\\(([^)]+)\\)"),
+            Pattern.compile("(https?://[^\\s)]+/uploads/[^\\s)]+)"));
+
+    private final NoticeRepository noticeRepository;
+    private final ProjectRepository projectRepository;
+    private final AppMetaRepository appMetaRepository;
+    private final UploadReferenceService uploadReferenceService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer rows = new TransactionTemplate(transactionManager).execute(status -> backfill());
+        if (rows != null && rows > 0) logger.info("업로드 참조 색인을 채웠습니다 ({}건).", rows);
+    }
+
+    private int backfill() {
+        // 여러 서버가 동시에 기동하면 먼저 잠금을 잡은 쪽만 채우고, 나머지는 기록된 버전을 보고 건너뜀
+        String done = String.valueOf(UploadReferenceService.BACKFILL_VERSION);
+        appMetaRepository.insertIfAbsent(UploadReferenceService.BACKFILL_KEY, "0");
+        AppMeta meta = appMetaRepository.lockByKey(UploadReferenceService.BACKFILL_KEY)
+                .orElseThrow(() -> new IllegalStateException("app_meta 기록을 찾을 수 없습니다: " + UploadReferenceService.BACKFILL_KEY));
+        String current = meta.getMetaValue() == null ? "0" : meta.getMetaValue().trim();
+        if (done.equals(current)) return 0;
+
+        int rows;
+        if ("0".equals(current)) {
+            // 공지 본문은 예전에는 참조 수를 올리지 않았으므로 모두 새로 올림
+            rows = fill(UploadReference.OwnerType.NOTICE, noticeRepository::findTextsAfter, text -> Set.of());
+            rows += fill(UploadReference.OwnerType.PROJECT, projectRepository::findTextsAfter, UploadReferenceBackfill::legacyProjectRefs);
+        } else {
+            // 이전 버전 색인: 공백/괄호에서 잘린 경로를 새 추출 규칙으로 다시 맞춤
+            // (blob 경로는 이름에 공백/괄호가 없어 그대로이므로 참조 수는 바뀌지 않음)
+            rows = resync(UploadReference.OwnerType.NOTICE, noticeRepository::findTextsAfter);
+            rows += resync(UploadReference.OwnerType.PROJECT, projectRepository::findTextsAfter);
+        }
+
+        meta.setMetaValue(done);
+        meta.setUpdatedAt(Instant.now());
+        return rows;
+    }
+
+    private int fill(UploadReference.OwnerType type, BiFunction<Long, Pageable, List<OwnerTextRow>> page,
+                     Function<String, Set<String>> alreadyCounted) {
+        int rows = 0;
+        long afterId = 0;
+        while (true) {
+            List<OwnerTextRow> batch = page.apply(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (OwnerTextRow row : batch) {
+                rows += uploadReferenceService.backfill(type, row.getId(), row.getText(), alreadyCounted.apply(row.getText()));
+                afterId = row.getId();
+            }
+            if (batch.size() < BATCH_SIZE) return rows;
+        }
+    }
+
+    private int resync(UploadReference.OwnerType type, BiFunction<Long, Pageable, List<OwnerTextRow>> page) {
+        int rows = 0;
+        long afterId = 0;
+        while (true) {
+            List<OwnerTextRow> batch = page.apply(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (OwnerTextRow row : batch) {
+                uploadReferenceService.sync(type, row.getId(), row.getText());
+                rows++;
+                afterId = row.getId();
+            }
+            if (batch.size() < BATCH_SIZE) return rows;
+        }
+    }
+
+    private static Set<String> legacyProjectRefs(String description) {
+        Set<String> paths = new HashSet<>();
+        if (description == null || description.isBlank()) return paths;
+        for (Pattern pattern : LEGACY_PROJECT_REFS) {
+            Matcher m = pattern.matcher(description);
+            while (m.find()) {
+                String path = UploadStorageService.normalize(m.group(1));
+                if (path != null) paths.add(path);
+            }
+        }
+        return paths;
+    }
+}
+
+// 기존 공지/프로젝트의 업로드 참조 색인을 채우는 일회성 마이그레이션입니다.
@@ -1,17 +1,28 @@
 package com.lab.config;
 
+import com.lab.service.ImageDerivativeService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.PathResourceResolver;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    private final ImageDerivativeService imageDerivativeService;
+
+    public WebConfig(ImageDerivativeService imageDerivativeService) {
+        this.imageDerivativeService = imageDerivativeService;
+    }
+
     @Bean
     public CorsFilter corsFilter() {
         CorsConfiguration config = new CorsConfiguration();
@@ -27,6 +38,7 @@ public class WebConfig implements WebMvcConfigurer {
             "Authorization",
             "Content-Type",
             "X-USER", // 하위 호환성
+            "X-Chunk-SHA256", // 청크 업로드 검증
             "X-Requested-With"
         ));
         config.setExposedHeaders(List.of("Authorization"));
@@ -38,10 +50,26 @@ public class WebConfig implements WebMvcConfigurer {
         return new CorsFilter(source);
     }
 
+    // 축소본이 아직 없어 원본으로 대신한 응답은 오래 캐시하지 않음
+    @Bean
+    public FilterRegistrationBean<UploadCacheControlFilter> uploadCacheControlFilter() {
+        FilterRegistrationBean<UploadCacheControlFilter> registration = new FilterRegistrationBean<>(new UploadCacheControlFilter());
+        registration.addUrlPatterns("/uploads/*");
+        return registration;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // 업로드 파일은 내용 해시/타임스탬프 기반 이름이라 내용이 바뀌지 않음
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/");
+                .addResourceLocations("file:uploads/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                // ?w= 로 축소본을 고르므로 경로만으로 결과를 캐시하지 않음
+                .resourceChain(false)
+                // .partial/.tmp 등 작업 중인 파일은 공개하지 않음
+                .addResolver(new HiddenPathResourceResolver())
+                .addResolver(new ImageVariantResourceResolver(imageDerivativeService))
+                .addResolver(new PathResourceResolver());
     }
 }
 
@@ -0,0 +1,28 @@
+package com.lab.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "app_meta")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AppMeta {
+    // 예: seed.version
+    @Id
+    @Column(name = "meta_key", length = 100)
+    private String metaKey;
+
+    @Column(name = "meta_value")
+    private String metaValue;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
+
+// 애플리케이션 메타데이터(시드/백필 버전 등) 엔티티입니다. 일회성 작업이 이미 실행되었는지 기록합니다.
@@ -9,7 +9,8 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+        indexes = @Index(name = "ux_attendance_member_work_date", columnList = "member_id, work_date", unique = true))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,49 @@
+package com.lab.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "attendance_monthly_stats",
+        indexes = @Index(name = "ux_attendance_monthly_stats_month_member", columnList = "stat_month, member_id", unique = true))
+@Getter
+@Setter
+@NoArgsConstructor
+public class AttendanceMonthlyStat {
+    // 달마다 하나씩 저장하는 계산 완료 표시 행의 member_id (실제 구성원 ID 는 1부터)
+    public static final long COMPLETED_MARKER_MEMBER_ID = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // yyyy-MM
+    @Column(name = "stat_month", nullable = false, length = 7)
+    private String statMonth;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    private long daysPresent;
+    private long completeDays;
+    private long totalMinutes;
+    private long lateDays;
+
+    // 평균 출근/퇴근 시각 (한국 시간 자정부터의 분)
+    private Double avgCheckIn;
+    private Double avgCheckOut;
+
+    // 계산에 사용한 지각 기준 (설정이 바뀌면 다시 계산)
+    @Column(nullable = false)
+    private int lateAfterMinute;
+
+    @CreationTimestamp
+    private Instant computedAt;
+}
+
+// 지난 달 출퇴근 통계 집계 결과 엔티티입니다. 끝난 달은 기록이 바뀌지 않으므로 한 번만 계산합니다.
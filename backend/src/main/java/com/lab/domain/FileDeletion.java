@@ -0,0 +1,42 @@
+package com.lab.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "file_deletion_queue", indexes = @Index(name = "idx_file_deletion_queue_next", columnList = "next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 삭제할 파일 (/uploads/...)
+    @Column(name = "stored_path", nullable = false)
+    private String storedPath;
+
+    // 내용 주소 blob 이면 SHA-256 (삭제 직전 다시 참조되었는지 확인용), 예전 방식 파일이면 null
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;
+
+    // 이 시각 이후에 파일이 다시 쓰였으면(mtime) 삭제하지 않음
+    @Column(name = "enqueued_at", nullable = false)
+    private Instant enqueuedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
+
+// 업로드 파일 삭제 대기열 엔티티입니다. DB 변경과 같은 트랜잭션에 기록하고 백그라운드에서 파일을 지웁니다.
@@ -39,7 +39,7 @@ public class Member {
     private String bio;
     // 추가 프로필 정보
     private String degree;     // 학위
-    private String photoUrl;   // 프로필 사진 URL (base64 또는 외부 경로)
+    private String photoUrl;   // 프로필 사진 URL (/uploads/... 또는 외부 경로, base64 는 저장 시 파일로 변환)
     private Integer graduationYear;  // 졸업 년도 (Alumni용)
 
     // 멤버 표시 순서 (작을수록 위)
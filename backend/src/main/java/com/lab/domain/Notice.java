@@ -1,5 +1,6 @@
 package com.lab.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -7,9 +8,13 @@ import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "notices")
+@Table(name = "notices", indexes = {
+        @Index(name = "idx_notices_category_created_id", columnList = "category, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,6 +43,36 @@ public class Notice {
 
     @Column(nullable = false)
     private boolean pinned = false;
+
+    // 목록 표시용 본문 요약 (저장 시 자동 갱신)
+    @Column(length = 300)
+    private String excerpt;
+
+    // 상세 조회(fetch join)용 역방향 연관. 첨부 저장/삭제는 NoticeAttachment 쪽에서 함
+    @JsonIgnore
+    @OneToMany(mappedBy = "notice")
+    @OrderBy("id")
+    private List<NoticeAttachment> attachments = new ArrayList<>();
+
+    public static final int EXCERPT_LENGTH = 150;
+
+    @PrePersist
+    @PreUpdate
+    void refreshExcerpt() {
+        this.excerpt = excerptOf(content);
+    }
+
+    public static String excerptOf(String content) {
+        if (content == null) return "";
+        String text = content
+                .replaceAll("!\\[[^\\]]*\\]\\([^)]*\\)", " ")   // 마크다운 이미지
+                .replaceAll("\\[([^\\]]*)\\]\\([^)]*\\)", "$1")   // 마크다운 링크 -> 텍스트
+                .replaceAll("<[^>]+>", " ")                      // HTML 태그
+                .replaceAll("[#>*_`~]+", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+        return text.length() <= EXCERPT_LENGTH ? text : text.substring(0, EXCERPT_LENGTH);
+    }
 }
 
 // 공지사항 엔티티입니다. 제목/내용/작성자/작성시각을 포함합니다.
@@ -9,7 +9,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "notice_attachments")
+@Table(name = "notice_attachments", indexes = {
+        @Index(name = "ux_notice_attachments_file_key", columnList = "file_key", unique = true),
+        @Index(name = "idx_notice_attachments_stored_path", columnList = "stored_path")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,7 +36,10 @@ public class NoticeAttachment {
     @Column(nullable = false)
     private long sizeBytes;
 
-    @Column(unique = true, length = 64)
+    @Column(length = 64)
+    private String checksum; // SHA-256 (hex)
+
+    @Column(name = "file_key", length = 64)
     private String fileKey; // download key for /api/files/download?fileKey=
 
     @CreationTimestamp
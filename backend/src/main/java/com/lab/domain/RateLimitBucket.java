@@ -0,0 +1,32 @@
+package com.lab.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "rate_limit_buckets", indexes = @Index(name = "idx_rate_limit_buckets_window", columnList = "window_start"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RateLimitBucket {
+    // 제한 종류 + IP 키 (예: login:ac150001)
+    @Id
+    @Column(name = "bucket_key", length = 40)
+    private String bucketKey;
+
+    // 현재 고정 윈도우 시작 시각 (epoch millis)
+    @Column(name = "window_start", nullable = false)
+    private long windowStart;
+
+    // 이번 윈도우에서 노드들이 가져간 토큰 수
+    @Column(nullable = false)
+    private int used;
+
+    // compare-and-swap 용 버전 (갱신할 때마다 1 증가)
+    @Column(name = "row_version", nullable = false)
+    private long rowVersion;
+}
+
+// 여러 서버가 공유하는 요청 제한 카운터 엔티티입니다. 고정 윈도우 단위로 사용량을 기록합니다.
@@ -0,0 +1,41 @@
+package com.lab.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stored_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StoredBlob {
+    // SHA-256 (hex)
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private String storedPath; // e.g. /uploads/ab/cd/abcd....png
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    // 첨부/프로젝트 본문 등에서 참조 중인 개수
+    @Column(nullable = false)
+    private int refCount = 0;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    // 마지막으로 업로드 응답에 이 파일 경로를 돌려준 시각 (중복 업로드 포함).
+    // 참조 수가 0이어도 이 시각부터 유예 시간 동안은 지우지 않음 (아직 저장 전인 글이 쓸 수 있음)
+    @Column(name = "issued_at")
+    private Instant issuedAt;
+}
+
+// 내용 주소 기반 업로드 파일 엔티티입니다. 동일 내용은 한 번만 저장하고 참조 수를 관리합니다.
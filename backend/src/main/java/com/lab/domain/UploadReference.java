@@ -0,0 +1,51 @@
+package com.lab.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "upload_reference", indexes = {
+        @Index(name = "ux_upload_reference_owner_path", columnList = "owner_type, owner_id, stored_path", unique = true),
+        @Index(name = "idx_upload_reference_path", columnList = "stored_path")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class UploadReference {
+    public enum OwnerType { NOTICE, PROJECT }
+
+    // stored_path 길이. 파일 이름은 255바이트를 넘을 수 없으므로 이보다 긴 경로는 실제 파일이 아님 (색인하지 않음)
+    public static final int MAX_PATH_LENGTH = 512;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 20)
+    private OwnerType ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    // 본문에 들어간 업로드 경로 (/uploads/..., 쿼리/호스트 제거, %인코딩 풀림)
+    @Column(name = "stored_path", nullable = false, length = MAX_PATH_LENGTH)
+    private String storedPath;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    public UploadReference(OwnerType ownerType, Long ownerId, String storedPath) {
+        this.ownerType = ownerType;
+        this.ownerId = ownerId;
+        this.storedPath = storedPath;
+    }
+}
+
+// 공지 본문/프로젝트 설명이 참조하는 업로드 파일 목록 엔티티입니다. 글을 저장할 때 함께 갱신합니다.
@@ -0,0 +1,26 @@
+package com.lab.repository;
+
+import com.lab.domain.AppMeta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AppMetaRepository extends JpaRepository<AppMeta, String> {
+    // 행이 없을 때만 만듦 (여러 서버가 동시에 기동해도 한 행)
+    @Modifying
+    @Query(value = "insert ignore into app_meta (meta_key, meta_value, updated_at) values (:key, :value, current_timestamp)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("value") String value);
+
+    // 행 잠금 조회: 같은 키로 일회성 작업을 하려는 다른 서버는 이 트랜잭션이 끝날 때까지 대기
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from AppMeta m where m.metaKey = :key")
+    Optional<AppMeta> lockByKey(@Param("key") String key);
+}
+
+// 애플리케이션 메타데이터 리포지토리입니다.
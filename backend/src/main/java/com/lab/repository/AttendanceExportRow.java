@@ -0,0 +1,14 @@
+package com.lab.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// 출퇴근 내보내기용 한 행 (엔티티가 아니라 영속성 컨텍스트에 쌓이지 않음)
+public interface AttendanceExportRow {
+    LocalDate getWorkDate();
+    Long getMemberId();
+    String getLoginId();
+    String getName();
+    Instant getCheckInAt();
+    Instant getCheckOutAt();
+}
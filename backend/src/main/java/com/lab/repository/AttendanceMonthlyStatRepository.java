@@ -0,0 +1,35 @@
+package com.lab.repository;
+
+import com.lab.domain.AttendanceMonthlyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface AttendanceMonthlyStatRepository extends JpaRepository<AttendanceMonthlyStat, Long> {
+    // 이번 달 집계(AttendanceRepository.summarize)와 같이 지금 ROLE=MEMBER 인 구성원만. 삭제된 구성원과 완료 표시 행은 join 에서 빠짐
+    @Query("select s.memberId as memberId, m.name as name, s.daysPresent as daysPresent, s.completeDays as completeDays, " +
+            "s.totalMinutes as totalMinutes, s.lateDays as lateDays, s.avgCheckIn as avgCheckIn, s.avgCheckOut as avgCheckOut, " +
+            "s.lateAfterMinute as lateAfterMinute " +
+            "from AttendanceMonthlyStat s join Member m on m.id = s.memberId " +
+            "where s.statMonth = :month and m.role = com.lab.domain.Role.MEMBER order by m.sortOrder, m.name")
+    List<CachedRow> findRows(@Param("month") String month);
+
+    // 저장된 달이면 계산에 사용한 지각 기준 (완료 표시 행 포함, 없으면 아직 계산 전)
+    @Query("select distinct s.lateAfterMinute from AttendanceMonthlyStat s where s.statMonth = :month")
+    List<Integer> findLateAfterMinutes(@Param("month") String month);
+
+    @Modifying
+    @Transactional
+    @Query("delete from AttendanceMonthlyStat s where s.statMonth = :month")
+    int deleteByStatMonth(@Param("month") String month);
+
+    interface CachedRow extends AttendanceStatsRow {
+        Integer getLateAfterMinute();
+    }
+}
+
+// 지난 달 출퇴근 집계 리포지토리입니다.
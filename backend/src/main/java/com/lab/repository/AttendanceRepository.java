@@ -1,17 +1,74 @@
 package com.lab.repository;
 
 import com.lab.domain.Attendance;
-import com.lab.domain.Member;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
-    Optional<Attendance> findByMemberAndWorkDate(Member member, LocalDate workDate);
+    Optional<Attendance> findByMemberIdAndWorkDate(Long memberId, LocalDate workDate);
+
+    // (member_id, work_date) 유니크 인덱스 기준 원자적 출근 기록: 이미 있으면 처음 출근 시각 유지
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "insert into attendance (member_id, work_date, check_in_at) values (:memberId, :workDate, :now) " +
+            "on duplicate key update check_in_at = coalesce(check_in_at, values(check_in_at))", nativeQuery = true)
+    int upsertCheckIn(@Param("memberId") Long memberId, @Param("workDate") LocalDate workDate, @Param("now") Instant now);
+
+    // 출근 기록이 있을 때만 퇴근 시각 기록 (0이면 출근 기록 없음)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Attendance a set a.checkOutAt = :now " +
+            "where a.member.id = :memberId and a.workDate = :workDate and a.checkInAt is not null")
+    int markCheckOut(@Param("memberId") Long memberId, @Param("workDate") LocalDate workDate, @Param("now") Instant now);
     List<Attendance> findByWorkDateBetween(LocalDate start, LocalDate end);
+
+    /**
+     * 기간 내 출퇴근 기록을 앞으로만 읽는 커서로 한 행씩 가져옵니다. 트랜잭션 안에서 소비하고 닫아야 합니다.
+     * fetch size Integer.MIN_VALUE 는 MySQL Connector/J 에서 결과를 메모리에 모으지 않고 스트리밍하라는 뜻입니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a.workDate as workDate, m.id as memberId, m.loginId as loginId, m.name as name, " +
+            "a.checkInAt as checkInAt, a.checkOutAt as checkOutAt " +
+            "from Attendance a join a.member m " +
+            "where a.workDate between :start and :end " +
+            "order by a.workDate, m.sortOrder, m.name")
+    Stream<AttendanceExportRow> streamForExport(@Param("start") LocalDate start, @Param("end") LocalDate end);
     void deleteByMemberId(Long memberId);
+
+    /**
+     * 구성원(ROLE=MEMBER)별 기간 집계를 한 번의 GROUP BY 로 계산합니다.
+     * 시각은 UTC 로 저장되어 있으므로 offsetMinutes 를 더해 현지 시각(분 단위)으로 비교합니다.
+     */
+    @Query(value = "select m.id as memberId, m.name as name, " +
+            "count(a.check_in_at) as daysPresent, " +
+            "count(case when a.check_out_at > a.check_in_at then 1 end) as completeDays, " +
+            "coalesce(sum(case when a.check_out_at > a.check_in_at then timestampdiff(MINUTE, a.check_in_at, a.check_out_at) end), 0) as totalMinutes, " +
+            "count(case when hour(timestampadd(MINUTE, :offsetMinutes, a.check_in_at)) * 60 " +
+            "  + minute(timestampadd(MINUTE, :offsetMinutes, a.check_in_at)) > :lateAfterMinute then 1 end) as lateDays, " +
+            "avg(hour(timestampadd(MINUTE, :offsetMinutes, a.check_in_at)) * 60 " +
+            "  + minute(timestampadd(MINUTE, :offsetMinutes, a.check_in_at))) as avgCheckIn, " +
+            "avg(hour(timestampadd(MINUTE, :offsetMinutes, a.check_out_at)) * 60 " +
+            "  + minute(timestampadd(MINUTE, :offsetMinutes, a.check_out_at))) as avgCheckOut " +
+            "from members m " +
+            "left join attendance a on a.member_id = m.id and a.work_date between :start and :end " +
+            "where m.role = 'MEMBER' " +
+            "group by m.id, m.name, m.sort_order " +
+            "order by m.sort_order, m.name", nativeQuery = true)
+    List<AttendanceStatsRow> summarize(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                       @Param("offsetMinutes") int offsetMinutes,
+                                       @Param("lateAfterMinute") int lateAfterMinute);
 }
 
 // 출퇴근 리포지토리입니다.
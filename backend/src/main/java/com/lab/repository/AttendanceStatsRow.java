@@ -0,0 +1,13 @@
+package com.lab.repository;
+
+// 구성원별 월 출퇴근 집계 (네이티브/JPQL 공용 프로젝션)
+public interface AttendanceStatsRow {
+    Long getMemberId();
+    String getName();
+    Long getDaysPresent();
+    Long getCompleteDays();
+    Long getTotalMinutes();
+    Long getLateDays();
+    Double getAvgCheckIn();
+    Double getAvgCheckOut();
+}
@@ -0,0 +1,31 @@
+package com.lab.repository;
+
+import com.lab.domain.FileDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface FileDeletionRepository extends JpaRepository<FileDeletion, Long> {
+    @Query("select d from FileDeletion d where d.nextAttemptAt <= :now order by d.id")
+    List<FileDeletion> findDue(@Param("now") Instant now, Pageable limit);
+
+    @Modifying
+    @Transactional
+    @Query("update FileDeletion d set d.attempts = d.attempts + 1, d.nextAttemptAt = :next, d.lastError = :error " +
+            "where d.id = :id")
+    int reschedule(@Param("id") Long id, @Param("next") Instant next, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("delete from FileDeletion d where d.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
+
+// 업로드 파일 삭제 대기열 리포지토리입니다.
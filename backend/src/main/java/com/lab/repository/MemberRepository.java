@@ -2,6 +2,7 @@ package com.lab.repository;
 
 import com.lab.domain.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
@@ -12,6 +13,22 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByStudentId(String studentId);
 
     java.util.List<Member> findAllByOrderBySortOrderAscNameAsc();
+    Optional<Member> findFirstByRoleOrderByIdAsc(com.lab.domain.Role role);
+
+    // 로그인: 아이디/이름/이메일 중 하나라도 일치하는 회원을 한 번에 조회 (아이디 > 이름 > 이메일 순)
+    // 일치 여부와 순위 모두 DB 콜레이션으로 판단 (대소문자 구분 없이 기존과 같게 동작)
+    @Query("select m from Member m where m.loginId = :identifier or m.name = :identifier or m.email = :identifier " +
+            "order by case when m.loginId = :identifier then 0 when m.name = :identifier then 1 else 2 end, m.id")
+    java.util.List<Member> findLoginCandidates(@org.springframework.data.repository.query.Param("identifier") String identifier);
+
+    @Query("select m.id from Member m where m.photoUrl like 'data:%'")
+    java.util.List<Long> findIdsWithInlinePhoto();
+
+    @Query("select m.photoUrl from Member m where m.photoUrl like '%/uploads/%'")
+    java.util.List<String> findUploadPhotoUrls();
+
+    @Query("select m from Member m where m.photoUrl like concat('%', :path, '%')")
+    java.util.List<Member> findByPhotoPath(@org.springframework.data.repository.query.Param("path") String path);
 }
 
 // 구성원 조회 리포지토리입니다.
@@ -2,13 +2,30 @@ package com.lab.repository;
 
 import com.lab.domain.Notice;
 import com.lab.domain.NoticeAttachment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface NoticeAttachmentRepository extends JpaRepository<NoticeAttachment, Long> {
     List<NoticeAttachment> findByNotice(Notice notice);
+    Optional<NoticeAttachment> findByFileKey(String fileKey);
     void deleteByNotice(Notice notice);
+
+    // 업로드 정리용: 첨부 파일 경로만 앞으로만 읽는 커서로 조회 (트랜잭션 안에서 소비하고 닫아야 함)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a.storedPath from NoticeAttachment a")
+    Stream<String> streamStoredPaths();
+
+    List<NoticeAttachment> findByStoredPath(String storedPath);
 }
 
 
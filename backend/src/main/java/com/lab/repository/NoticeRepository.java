@@ -18,6 +18,37 @@ public interface NoticeRepository extends JpaRepository<Notice, Long> {
 
     List<Notice> findByAuthor_Id(Long authorId);
 
+    @Query(value = "select new com.lab.repository.NoticeSummaryRow(n.id, n.title, n.category, n.pinned, n.createdAt, " +
+            "a.id, a.name, n.excerpt, (select count(x) from NoticeAttachment x where x.notice = n)) " +
+            "from Notice n left join n.author a " +
+            "where (:category is null or n.category = :category) " +
+            "order by n.createdAt desc",
+            countQuery = "select count(n) from Notice n where (:category is null or n.category = :category)")
+    Page<NoticeSummaryRow> findSummaries(@Param("category") String category, Pageable pageable);
+
+    // 키셋 페이지: (createdAt, id) 가 커서보다 앞선 글만 조회 (OFFSET/count 없음)
+    @Query("select new com.lab.repository.NoticeSummaryRow(n.id, n.title, n.category, n.pinned, n.createdAt, " +
+            "a.id, a.name, n.excerpt, (select count(x) from NoticeAttachment x where x.notice = n)) " +
+            "from Notice n left join n.author a " +
+            "where (:category is null or n.category = :category) " +
+            "and (:createdAt is null or n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) " +
+            "order by n.createdAt desc, n.id desc")
+    List<NoticeSummaryRow> findSummariesBefore(@Param("category") String category,
+                                               @Param("createdAt") java.time.Instant createdAt,
+                                               @Param("id") Long id,
+                                               Pageable limit);
+
+    // 상세: 공지 + 작성자 + 첨부를 한 번에 조회
+    @Query("select n from Notice n left join fetch n.author left join fetch n.attachments where n.id = :id")
+    java.util.Optional<Notice> findDetailById(@Param("id") Long id);
+
+    @Query("select n from Notice n where n.excerpt is null")
+    List<Notice> findWithoutExcerpt(Pageable pageable);
+
+    // 업로드 참조 백필용: id 순서로 (ID, 본문)만 조회
+    @Query("select n.id as id, n.content as text from Notice n where n.id > :afterId order by n.id")
+    List<OwnerTextRow> findTextsAfter(@Param("afterId") long afterId, Pageable limit);
+
     @Modifying
     @Query("update Notice n set n.author = null where n.author.id = :authorId")
     void clearAuthorByAuthorId(@Param("authorId") Long authorId);
@@ -0,0 +1,7 @@
+package com.lab.repository;
+
+import java.time.Instant;
+
+// 공지 목록 조회용 프로젝션 (본문/작성자 엔티티를 읽지 않음)
+public record NoticeSummaryRow(Long id, String title, String category, boolean pinned, Instant createdAt,
+                               Long authorId, String authorName, String excerpt, long attachmentCount) {}
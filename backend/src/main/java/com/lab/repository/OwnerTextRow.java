@@ -0,0 +1,7 @@
+package com.lab.repository;
+
+// 업로드 참조 백필용 (글 ID, 본문) 한 행 (엔티티가 아니라 영속성 컨텍스트에 쌓이지 않음)
+public interface OwnerTextRow {
+    Long getId();
+    String getText();
+}
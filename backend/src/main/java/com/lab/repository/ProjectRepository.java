@@ -14,6 +14,18 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByStatusOrderByCreatedAtDesc(Project.ProjectStatus status);
     List<Project> findAllByOrderByCreatedAtDesc();
 
+    // 키셋 페이지: (createdAt, id) 가 커서보다 앞선 프로젝트만 조회
+    @Query("select p from Project p " +
+            "where (:createdAt is null or p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<Project> findPageBefore(@Param("createdAt") java.time.Instant createdAt,
+                                 @Param("id") Long id,
+                                 org.springframework.data.domain.Pageable limit);
+
+    // 업로드 참조 백필용: id 순서로 (ID, 설명)만 조회
+    @Query("select p.id as id, p.description as text from Project p where p.id > :afterId order by p.id")
+    List<OwnerTextRow> findTextsAfter(@Param("afterId") long afterId, org.springframework.data.domain.Pageable limit);
+
     @Modifying
     @Query("update Project p set p.createdBy = null where p.createdBy.id = :memberId")
     void clearCreatedBy(@Param("memberId") Long memberId);
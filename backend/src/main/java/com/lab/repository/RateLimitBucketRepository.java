@@ -0,0 +1,38 @@
+package com.lab.repository;
+
+import com.lab.domain.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+// MySQL 과 H2 모두에서 동작하는 표준 SQL 만 사용
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+    // 이미 있으면 DataIntegrityViolationException (다른 노드가 먼저 만든 경우 다시 읽어서 CAS)
+    @Modifying
+    @Transactional
+    @Query(value = "insert into rate_limit_buckets (bucket_key, window_start, used, row_version) " +
+            "values (:key, :windowStart, :used, 0)", nativeQuery = true)
+    void insertNew(@Param("key") String key, @Param("windowStart") long windowStart, @Param("used") int used);
+
+    @Modifying
+    @Transactional
+    @Query("update RateLimitBucket b set b.used = b.used + :tokens, b.rowVersion = b.rowVersion + 1 " +
+            "where b.bucketKey = :key and b.rowVersion = :version")
+    int take(@Param("key") String key, @Param("version") long version, @Param("tokens") int tokens);
+
+    @Modifying
+    @Transactional
+    @Query("update RateLimitBucket b set b.windowStart = :windowStart, b.used = :tokens, b.rowVersion = b.rowVersion + 1 " +
+            "where b.bucketKey = :key and b.rowVersion = :version")
+    int startWindow(@Param("key") String key, @Param("version") long version,
+                    @Param("windowStart") long windowStart, @Param("tokens") int tokens);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RateLimitBucket b where b.windowStart < :cutoff")
+    int deleteStale(@Param("cutoff") long cutoff);
+}
+
+// 분산 요청 제한 카운터 리포지토리입니다.
@@ -0,0 +1,38 @@
+package com.lab.repository;
+
+import com.lab.domain.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+    // 없으면 만들고, 있으면 돌려준 시각(issued_at)만 갱신
+    @Modifying
+    @Query(value = "insert into stored_blobs (hash, stored_path, size_bytes, ref_count, created_at, issued_at) " +
+            "values (:hash, :storedPath, :sizeBytes, 0, :now, :now) on duplicate key update issued_at = :now", nativeQuery = true)
+    void insertIfAbsent(@Param("hash") String hash, @Param("storedPath") String storedPath,
+                        @Param("sizeBytes") long sizeBytes, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount + 1 where b.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount - 1 where b.hash = :hash and b.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash);
+
+    // 참조가 없고 issuedBefore 이후로 업로드 응답에 나간 적이 없을 때만 삭제
+    @Modifying
+    @Query("delete from StoredBlob b where b.hash = :hash and b.refCount = 0 " +
+            "and (b.issuedAt is null or b.issuedAt < :issuedBefore)")
+    int deleteUnreferenced(@Param("hash") String hash, @Param("issuedBefore") Instant issuedBefore);
+
+    @Query("select b.storedPath from StoredBlob b where b.hash = :hash")
+    Optional<String> findStoredPath(@Param("hash") String hash);
+}
+
+// 업로드 blob 참조 수 리포지토리입니다.
@@ -0,0 +1,40 @@
+package com.lab.repository;
+
+import com.lab.domain.UploadReference;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UploadReferenceRepository extends JpaRepository<UploadReference, Long> {
+    @Query("select r.storedPath from UploadReference r where r.ownerType = :type and r.ownerId = :ownerId")
+    List<String> findPathsByOwner(@Param("type") UploadReference.OwnerType type, @Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("delete from UploadReference r where r.ownerType = :type and r.ownerId = :ownerId and r.storedPath in :paths")
+    int deleteByOwnerAndPaths(@Param("type") UploadReference.OwnerType type, @Param("ownerId") Long ownerId,
+                              @Param("paths") Collection<String> paths);
+
+    List<UploadReference> findByStoredPathOrderByIdAsc(String storedPath);
+
+    boolean existsByStoredPath(String storedPath);
+
+    boolean existsByOwnerTypeAndOwnerId(UploadReference.OwnerType ownerType, Long ownerId);
+
+    // 업로드 정리용: 참조 중인 경로 전체를 앞으로만 읽는 커서로 조회 (트랜잭션 안에서 소비하고 닫아야 함)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select distinct r.storedPath from UploadReference r")
+    Stream<String> streamStoredPaths();
+}
+
+// 업로드 참조 색인 리포지토리입니다.
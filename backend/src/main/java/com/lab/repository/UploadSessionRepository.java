@@ -0,0 +1,13 @@
+package com.lab.repository;
+
+import com.lab.domain.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    List<UploadSession> findByUpdatedAtBefore(Instant before);
+}
+
+// 청크 업로드 세션 리포지토리입니다.
@@ -0,0 +1,202 @@
+package com.lab.service;
+
+import com.lab.domain.Notice;
+import com.lab.domain.NoticeAttachment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class AttachmentIngestService {
+    private static final String INSERT_SQL = "insert into notice_attachments " +
+            "(notice_id, stored_path, original_name, content_type, size_bytes, checksum, file_key, created_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, now())";
+
+    private final UploadStorageService uploadStorageService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 디스크 쓰기 + 해시 계산 동시 작업 수
+    @Value("${attachment-ingest.threads:4}")
+    private int threads;
+
+    // 대기열이 가득 차면 요청 스레드가 직접 처리 (거절하지 않고 속도만 늦춤)
+    @Value("${attachment-ingest.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    // 임시 파일로 받아둔 첨부 (아직 DB 에 등록되지 않음)
+    public record Spooled(String originalName, String contentType, UploadStorageService.TempFile temp) {}
+
+    @PostConstruct
+    void start() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "attachment-ingest-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        new ExecutorServiceMetrics(executor, "attachment-ingest", List.of()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 업로드된 파일들을 작업 풀에서 동시에 임시 파일로 쓰면서 SHA-256/크기를 계산합니다.
+     * DB 를 사용하지 않으므로 트랜잭션 밖에서 호출합니다. 하나라도 실패하면 만든 임시 파일을 모두 지우고 예외를 던집니다.
+     * 결과는 {@link #attach} 후 {@link #discard} 로 정리해야 합니다.
+     */
+    public List<Spooled> spool(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) return List.of();
+        List<CompletableFuture<Spooled>> futures = new ArrayList<>();
+        for (MultipartFile f : files) {
+            if (f.isEmpty()) continue;
+            String clean = StringUtils.cleanPath(f.getOriginalFilename() == null ? "file" : f.getOriginalFilename());
+            String contentType = f.getContentType() == null ? "application/octet-stream" : f.getContentType();
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try (InputStream in = f.getInputStream()) {
+                    return new Spooled(clean, contentType, uploadStorageService.spool(in));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+
+        List<Spooled> spooled = new ArrayList<>();
+        Throwable failure = null;
+        for (CompletableFuture<Spooled> future : futures) {
+            try {
+                spooled.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) failure = e.getCause();
+            }
+        }
+        if (failure != null) {
+            discard(spooled);
+            if (failure instanceof UncheckedIOException io) throw io.getCause();
+            if (failure instanceof RuntimeException re) throw re;
+            throw new IOException(failure);
+        }
+        return spooled;
+    }
+
+    /**
+     * 임시 파일을 blob 저장소로 옮기고 참조 수를 올린 뒤, 첨부 행을 한 번의 JDBC 배치로 넣습니다.
+     * 호출 측 트랜잭션 안에서만 실행되며, 롤백되면 이 트랜잭션에서 새로 만든 blob 파일을 지웁니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<NoticeAttachment> attach(Notice notice, List<Spooled> spooled) {
+        if (spooled.isEmpty()) return List.of();
+        List<UploadStorageService.StoredFile> created = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) created.forEach(uploadStorageService::discardIfOrphaned);
+            }
+        });
+
+        List<NoticeAttachment> attachments = new ArrayList<>();
+        for (Spooled s : spooled) {
+            UploadStorageService.StoredFile stored;
+            try {
+                stored = uploadStorageService.adopt(s.temp().path(), s.temp().hash(), s.temp().sizeBytes(), s.originalName());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (stored.created()) created.add(stored);
+            uploadStorageService.retain(stored.storedPath());
+
+            NoticeAttachment a = new NoticeAttachment();
+            a.setNotice(notice);
+            a.setStoredPath(stored.storedPath());
+            a.setOriginalName(s.originalName());
+            a.setContentType(s.contentType());
+            a.setSizeBytes(stored.sizeBytes());
+            a.setChecksum(stored.hash());
+            a.setFileKey(UUID.randomUUID().toString().replace("-", ""));
+            attachments.add(a);
+        }
+        batchInsert(attachments);
+        return attachments;
+    }
+
+    // 임시 파일 정리 (blob 으로 옮겨진 파일은 이미 없음)
+    public void discard(List<Spooled> spooled) {
+        for (Spooled s : spooled) {
+            try {
+                Files.deleteIfExists(s.temp().path());
+            } catch (IOException ignored) {
+                // 남은 .tmp 파일은 유예 시간이 지나면 업로드 폴더 정리(UploadGarbageCollector)가 지움
+            }
+        }
+    }
+
+    // IDENTITY 키라 Hibernate 는 INSERT 를 묶지 못하므로 JDBC 배치로 넣고 생성된 ID 를 받아옴
+    // (MySQL 은 rewriteBatchedStatements=true 로 한 번의 다중 VALUES INSERT 가 됨)
+    private void batchInsert(List<NoticeAttachment> attachments) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NoticeAttachment a = attachments.get(i);
+                        ps.setLong(1, a.getNotice().getId());
+                        ps.setString(2, a.getStoredPath());
+                        ps.setString(3, a.getOriginalName());
+                        ps.setString(4, a.getContentType());
+                        ps.setLong(5, a.getSizeBytes());
+                        ps.setString(6, a.getChecksum());
+                        ps.setString(7, a.getFileKey());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return attachments.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < attachments.size() && i < ids.size(); i++) {
+            attachments.get(i).setId(((Number) ids.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
+
+// 공지 첨부 저장 서비스입니다. 파일 쓰기는 병렬로, DB 등록은 한 트랜잭션의 배치 INSERT 로 처리합니다.
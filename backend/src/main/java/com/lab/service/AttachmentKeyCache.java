@@ -0,0 +1,76 @@
+package com.lab.service;
+
+import com.lab.domain.NoticeAttachment;
+import com.lab.repository.NoticeAttachmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class AttachmentKeyCache {
+    private final NoticeAttachmentRepository noticeAttachmentRepository;
+
+    @Value("${attachment.key-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${attachment.key-cache.max-entries:1000}")
+    private int maxEntries;
+
+    // 다운로드에 필요한 최소 정보만 보관 (엔티티/Notice 로딩 없음)
+    public record AttachmentMeta(Long id, String storedPath, String originalName, String contentType, long sizeBytes) {
+        static AttachmentMeta from(NoticeAttachment a) {
+            return new AttachmentMeta(a.getId(), a.getStoredPath(), a.getOriginalName(), a.getContentType(), a.getSizeBytes());
+        }
+    }
+
+    private record Entry(AttachmentMeta meta, long expiresAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public Optional<AttachmentMeta> findByFileKey(String fileKey) {
+        if (fileKey == null || fileKey.isBlank()) return Optional.empty();
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(fileKey);
+        if (cached != null && cached.expiresAt() > now) {
+            return Optional.of(cached.meta());
+        }
+        Optional<AttachmentMeta> meta = noticeAttachmentRepository.findByFileKey(fileKey).map(AttachmentMeta::from);
+        meta.ifPresent(m -> put(fileKey, m, now));
+        return meta;
+    }
+
+    /**
+     * 항목을 무효화합니다. 트랜잭션 안이면 커밋된 뒤에 지워, 커밋 전까지 보이는 행이 그 사이 다운로드로 다시 캐시되지 않게 합니다.
+     */
+    public void evict(String fileKey) {
+        if (fileKey == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(fileKey);
+                }
+            });
+        } else {
+            entries.remove(fileKey);
+        }
+    }
+
+    private void put(String fileKey, AttachmentMeta meta, long now) {
+        if (entries.size() >= maxEntries) {
+            // 만료 항목 정리 후에도 가득 차 있으면 전체 비움 (단기 캐시이므로 재조회 비용이 작음)
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+            if (entries.size() >= maxEntries) entries.clear();
+        }
+        entries.put(fileKey, new Entry(meta, now + ttlSeconds * 1000));
+    }
+}
+
+// fileKey → 첨부 메타데이터 단기 캐시입니다. 인덱스 조회 결과를 짧게 보관합니다.
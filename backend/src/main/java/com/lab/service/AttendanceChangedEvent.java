@@ -0,0 +1,11 @@
+package com.lab.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// 출근/퇴근 기록이 커밋된 뒤 전달되는 이벤트 (type: check-in | check-out)
+public record AttendanceChangedEvent(String type, Long memberId, String memberName,
+                                     LocalDate workDate, Instant checkInAt, Instant checkOutAt) {
+}
+
+// 출퇴근 변경 이벤트입니다. 현재 재실 현황(PresenceService)으로 전달됩니다.
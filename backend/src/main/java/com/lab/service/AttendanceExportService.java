@@ -0,0 +1,238 @@
+package com.lab.service;
+
+import com.lab.repository.AttendanceExportRow;
+import com.lab.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class AttendanceExportService {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.of("Asia/Seoul"));
+    private static final Object[] HEADER = {"날짜", "구성원 ID", "아이디", "이름", "출근", "퇴근", "근무(분)"};
+
+    private final AttendanceRepository attendanceRepository;
+
+    public enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format of(String value) {
+            if (value == null || value.isBlank() || value.equalsIgnoreCase("csv")) return CSV;
+            if (value.equalsIgnoreCase("xlsx")) return XLSX;
+            throw new IllegalArgumentException("지원하지 않는 형식입니다. (csv, xlsx)");
+        }
+    }
+
+    /**
+     * 기간 내 출퇴근 기록을 out 에 바로 씁니다. DB 커서에서 한 행씩 읽어 곧바로 내보내므로
+     * 기간이 길어도 메모리 사용량이 일정하고, 첫 행부터 응답이 전송됩니다.
+     */
+    @Transactional(readOnly = true)
+    public void export(LocalDate start, LocalDate end, Format format, OutputStream out) throws IOException {
+        SheetWriter sheet = format == Format.XLSX ? new XlsxWriter(out) : new CsvWriter(out);
+        sheet.row(HEADER);
+        try (Stream<AttendanceExportRow> rows = attendanceRepository.streamForExport(start, end)) {
+            Iterator<AttendanceExportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                AttendanceExportRow row = it.next();
+                Instant in = row.getCheckInAt();
+                Instant outAt = row.getCheckOutAt();
+                Long minutes = in != null && outAt != null && outAt.isAfter(in)
+                        ? Duration.between(in, outAt).toMinutes() : null;
+                sheet.row(row.getWorkDate().toString(), row.getMemberId(), row.getLoginId(), row.getName(),
+                        in != null ? TIME.format(in) : null, outAt != null ? TIME.format(outAt) : null, minutes);
+            }
+        }
+        sheet.finish();
+    }
+
+    // 셀 값: String, Long(숫자) 또는 null(빈 칸)
+    private interface SheetWriter {
+        void row(Object... cells) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements SheetWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write('\uFEFF'); // 엑셀에서 UTF-8(한글)로 열리도록 BOM
+        }
+
+        @Override
+        public void row(Object... cells) throws IOException {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) writer.write(',');
+                if (cells[i] instanceof String s) writer.write(quote(s));
+                else if (cells[i] != null) writer.write(cells[i].toString());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        // RFC 4180 인용 + 수식으로 해석될 수 있는 값(=, +, -, @ 로 시작) 앞에 ' 를 붙임
+        private static String quote(String value) {
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) != -1) value = "'" + value;
+            if (value.indexOf(',') == -1 && value.indexOf('"') == -1
+                    && value.indexOf('\n') == -1 && value.indexOf('\r') == -1) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * 최소 구성의 SpreadsheetML(xlsx) 작성기. 시트 XML 을 zip 항목에 바로 스트리밍하고(inline 문자열),
+     * 시트 목록이 정해지는 마지막에 workbook/관계 파일을 씁니다. 시트 한도(1,048,576행)를 넘으면 다음 시트로 이어 씁니다.
+     */
+    private static final class XlsxWriter implements SheetWriter {
+        private static final int MAX_ROWS = 1_048_576;
+        private static final String NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+        private static final String REL = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+        private static final String PKG_REL = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+        private final ZipOutputStream zip;
+        private final Writer writer;
+        private Object[] header;
+        private int sheets;
+        private int rowsInSheet = MAX_ROWS;
+
+        XlsxWriter(OutputStream out) {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void row(Object... cells) throws IOException {
+            if (header == null) header = cells;
+            if (rowsInSheet == MAX_ROWS) {
+                if (sheets > 0) closeSheet();
+                openSheet();
+                if (cells != header) writeRow(header);
+            }
+            writeRow(cells);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (sheets == 0) openSheet();
+            closeSheet();
+
+            StringBuilder types = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                    .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                    .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                    .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                    .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+            StringBuilder workbook = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                    .append("<workbook xmlns=\"").append(NS).append("\" xmlns:r=\"").append(REL).append("\"><sheets>");
+            StringBuilder rels = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                    .append("<Relationships xmlns=\"").append(PKG_REL).append("\">");
+            for (int i = 1; i <= sheets; i++) {
+                types.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                        .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+                workbook.append("<sheet name=\"출퇴근").append(i == 1 ? "" : " " + i).append("\" sheetId=\"").append(i)
+                        .append("\" r:id=\"rId").append(i).append("\"/>");
+                rels.append("<Relationship Id=\"rId").append(i).append("\" Type=\"").append(REL)
+                        .append("/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+            }
+            entry("[Content_Types].xml", types.append("</Types>"));
+            entry("_rels/.rels", new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                    .append("<Relationships xmlns=\"").append(PKG_REL).append("\">")
+                    .append("<Relationship Id=\"rId1\" Type=\"").append(REL)
+                    .append("/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>"));
+            entry("xl/workbook.xml", workbook.append("</sheets></workbook>"));
+            entry("xl/_rels/workbook.xml.rels", rels.append("</Relationships>"));
+            zip.finish();
+            zip.flush();
+        }
+
+        private void openSheet() throws IOException {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + (++sheets) + ".xml"));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><worksheet xmlns=\"" + NS + "\"><sheetData>");
+            rowsInSheet = 0;
+        }
+
+        private void closeSheet() throws IOException {
+            writer.write("</sheetData></worksheet>");
+            writer.flush();
+            zip.closeEntry();
+        }
+
+        private void writeRow(Object[] cells) throws IOException {
+            writer.write("<row>");
+            for (Object cell : cells) {
+                if (cell == null) {
+                    writer.write("<c/>");
+                } else if (cell instanceof Number) {
+                    writer.write("<c><v>" + cell + "</v></c>");
+                } else {
+                    writer.write("<c t=\"inlineStr\"><is><t>");
+                    writer.write(escape(cell.toString()));
+                    writer.write("</t></is></c>");
+                }
+            }
+            writer.write("</row>");
+            rowsInSheet++;
+        }
+
+        private void entry(String name, CharSequence xml) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            writer.append(xml);
+            writer.flush();
+            zip.closeEntry();
+        }
+
+        // XML 특수문자 이스케이프 + XML 1.0 에서 허용하지 않는 제어문자 제거
+        private static String escape(String value) {
+            StringBuilder sb = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&' -> sb.append("&amp;");
+                    case '<' -> sb.append("&lt;");
+                    case '>' -> sb.append("&gt;");
+                    case '"' -> sb.append("&quot;");
+                    default -> {
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') sb.append(c);
+                    }
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
+
+// 출퇴근 기록 내보내기 서비스입니다. CSV/XLSX 를 응답 스트림에 바로 씁니다.
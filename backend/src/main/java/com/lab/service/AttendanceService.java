@@ -5,7 +5,9 @@ import com.lab.domain.Member;
 import com.lab.repository.AttendanceRepository;
 import com.lab.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -17,28 +19,38 @@ import java.util.List;
 public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * 한 번의 INSERT ... ON DUPLICATE KEY UPDATE 로 출근을 기록합니다(중복 클릭/재시도에도 한 행, 처음 출근 시각 유지).
+     */
+    @Transactional
     public Attendance checkIn(Member member) {
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-        Attendance attendance = attendanceRepository.findByMemberAndWorkDate(member, today)
-                .orElseGet(() -> {
-                    Attendance a = new Attendance();
-                    a.setMember(member);
-                    a.setWorkDate(today);
-                    return a;
-                });
-        if (attendance.getCheckInAt() == null) {
-            attendance.setCheckInAt(Instant.now());
-        }
-        return attendanceRepository.save(attendance);
+        attendanceRepository.upsertCheckIn(member.getId(), today, Instant.now());
+        Attendance attendance = attendanceRepository.findByMemberIdAndWorkDate(member.getId(), today)
+                .orElseThrow(() -> new IllegalStateException("출근 기록에 실패했습니다."));
+        publish("check-in", attendance);
+        return attendance;
     }
 
+    @Transactional
     public Attendance checkOut(Member member) {
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-        Attendance attendance = attendanceRepository.findByMemberAndWorkDate(member, today)
+        if (attendanceRepository.markCheckOut(member.getId(), today, Instant.now()) == 0) {
+            throw new IllegalStateException("출근 기록이 없습니다.");
+        }
+        Attendance attendance = attendanceRepository.findByMemberIdAndWorkDate(member.getId(), today)
                 .orElseThrow(() -> new IllegalStateException("출근 기록이 없습니다."));
-        attendance.setCheckOutAt(Instant.now());
-        return attendanceRepository.save(attendance);
+        publish("check-out", attendance);
+        return attendance;
+    }
+
+    // 커밋 후에만 재실 현황에 반영됨 (롤백되면 전달되지 않음)
+    private void publish(String type, Attendance attendance) {
+        eventPublisher.publishEvent(new AttendanceChangedEvent(type, attendance.getMember().getId(),
+                attendance.getMember().getName(), attendance.getWorkDate(),
+                attendance.getCheckInAt(), attendance.getCheckOutAt()));
     }
 
     public List<Attendance> getRecordsBetween(LocalDate start, LocalDate end) {
@@ -0,0 +1,144 @@
+package com.lab.service;
+
+import com.lab.domain.AttendanceMonthlyStat;
+import com.lab.repository.AttendanceMonthlyStatRepository;
+import com.lab.repository.AttendanceRepository;
+import com.lab.repository.AttendanceStatsRow;
+import com.lab.web.dto.AttendanceSummaryDto;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AttendanceStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceStatsService.class);
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final int MAX_MONTHS = 24;
+
+    public static final List<String> COLUMNS = List.of(
+            "memberId", "name", "daysPresent", "completeDays", "totalMinutes", "avgMinutes", "lateDays", "avgCheckIn", "avgCheckOut");
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthlyStatRepository attendanceMonthlyStatRepository;
+
+    // 이 시각(한국 시간)보다 늦은 출근을 지각으로 계산
+    @Value("${attendance.late-after:10:00}")
+    private String lateAfterConfig;
+
+    private LocalTime lateAfter;
+
+    @PostConstruct
+    void init() {
+        lateAfter = LocalTime.parse(lateAfterConfig.trim());
+    }
+
+    /**
+     * from~to(yyyy-MM) 각 달의 구성원별 집계를 돌려줍니다.
+     * 이번 달은 매번 SQL 로 집계하고, 끝난 달은 attendance_monthly_stats 에 저장된 결과를 사용합니다.
+     */
+    public AttendanceSummaryDto summarize(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (from.until(to, ChronoUnit.MONTHS) >= MAX_MONTHS) {
+            throw new IllegalArgumentException("최대 " + MAX_MONTHS + "개월까지 조회할 수 있습니다.");
+        }
+        YearMonth current = YearMonth.now(ZONE);
+        List<AttendanceSummaryDto.Month> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month.isBefore(current)
+                    ? closedMonth(month)
+                    : new AttendanceSummaryDto.Month(month.toString(), false, toMatrix(live(month))));
+        }
+        return new AttendanceSummaryDto(from.toString(), to.toString(), lateAfter.toString(), COLUMNS, months);
+    }
+
+    /**
+     * 끝난 달은 계산 시점의 구성원 행을 저장해 두고, 조회할 때는 지금 ROLE=MEMBER 인 구성원만 보여줍니다.
+     * 달이 끝난 뒤 들어온 구성원은 그 달 기록이 없으므로 이번 달 집계와 달리 0 행으로 나오지 않습니다.
+     */
+    private AttendanceSummaryDto.Month closedMonth(YearMonth month) {
+        String key = month.toString();
+        int lateAfterMinute = lateAfterMinute();
+        List<Integer> stored = attendanceMonthlyStatRepository.findLateAfterMinutes(key);
+        if (stored.equals(List.of(lateAfterMinute))) {
+            return new AttendanceSummaryDto.Month(key, true, toMatrix(attendanceMonthlyStatRepository.findRows(key)));
+        }
+        if (!stored.isEmpty()) {
+            // 지각 기준이 바뀐 경우 다시 계산
+            attendanceMonthlyStatRepository.deleteByStatMonth(key);
+        }
+        List<AttendanceStatsRow> rows = live(month);
+        List<AttendanceMonthlyStat> rollup = new ArrayList<>(rows.size() + 1);
+        rows.forEach(r -> rollup.add(toRollup(key, lateAfterMinute, r)));
+        // 구성원이 없어 행이 없는 달도 계산을 마쳤다고 기록 (매번 다시 계산하지 않도록)
+        rollup.add(completedMarker(key, lateAfterMinute));
+        try {
+            attendanceMonthlyStatRepository.saveAll(rollup);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 저장함
+            logger.debug("출퇴근 월 집계가 이미 저장되어 있습니다: {}", key);
+        }
+        return new AttendanceSummaryDto.Month(key, false, toMatrix(rows));
+    }
+
+    private List<AttendanceStatsRow> live(YearMonth month) {
+        int offsetMinutes = ZONE.getRules().getOffset(month.atDay(1).atStartOfDay(ZONE).toInstant()).getTotalSeconds() / 60;
+        return attendanceRepository.summarize(month.atDay(1), month.atEndOfMonth(), offsetMinutes, lateAfterMinute());
+    }
+
+    private int lateAfterMinute() {
+        return lateAfter.getHour() * 60 + lateAfter.getMinute();
+    }
+
+    private static AttendanceMonthlyStat toRollup(String month, int lateAfterMinute, AttendanceStatsRow r) {
+        AttendanceMonthlyStat s = new AttendanceMonthlyStat();
+        s.setStatMonth(month);
+        s.setMemberId(r.getMemberId());
+        s.setDaysPresent(r.getDaysPresent());
+        s.setCompleteDays(r.getCompleteDays());
+        s.setTotalMinutes(r.getTotalMinutes());
+        s.setLateDays(r.getLateDays());
+        s.setAvgCheckIn(r.getAvgCheckIn());
+        s.setAvgCheckOut(r.getAvgCheckOut());
+        s.setLateAfterMinute(lateAfterMinute);
+        return s;
+    }
+
+    private static AttendanceMonthlyStat completedMarker(String month, int lateAfterMinute) {
+        AttendanceMonthlyStat s = new AttendanceMonthlyStat();
+        s.setStatMonth(month);
+        s.setMemberId(AttendanceMonthlyStat.COMPLETED_MARKER_MEMBER_ID);
+        s.setLateAfterMinute(lateAfterMinute);
+        return s;
+    }
+
+    private static List<List<Object>> toMatrix(List<? extends AttendanceStatsRow> rows) {
+        return rows.stream().map(r -> Arrays.<Object>asList(
+                r.getMemberId(),
+                r.getName(),
+                r.getDaysPresent(),
+                r.getCompleteDays(),
+                r.getTotalMinutes(),
+                r.getCompleteDays() > 0 ? Math.round((double) r.getTotalMinutes() / r.getCompleteDays()) : null,
+                r.getLateDays(),
+                r.getAvgCheckIn() == null ? null : Math.round(r.getAvgCheckIn()),
+                r.getAvgCheckOut() == null ? null : Math.round(r.getAvgCheckOut())
+        )).toList();
+    }
+}
+
+// 출퇴근 통계 집계 서비스입니다. 구성원별 출근 일수/근무 시간/지각 횟수를 SQL 로 계산합니다.
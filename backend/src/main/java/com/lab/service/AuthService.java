@@ -4,24 +4,43 @@ import com.lab.domain.Member;
 import com.lab.domain.Role;
 import com.lab.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     private final MemberRepository memberRepository;
 
+    private static final String REQUEST_ATTR = AuthService.class.getName() + ".requester:";
+
+    @Value("${auth.principal-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.principal-cache.max-entries:1000}")
+    private int maxEntries;
+
+    // 식별자 → Member 스냅샷 (짧은 TTL, 회원 정보 변경 시 evict)
+    private record Entry(Member snapshot, long expiresAt) {}
+    private final Map<String, Entry> principals = new ConcurrentHashMap<>();
+
     public Member getRequester(String requesterIdentifier) {
         // JWT 인증 우선 (Spring Security Context에서 가져오기)
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof String) {
             String loginId = (String) auth.getPrincipal();
-            return memberRepository.findByLoginId(loginId)
-                    .orElseThrow(() -> new IllegalArgumentException("로그인 후 이용해주세요."));
+            return resolve("jwt:" + loginId, () -> memberRepository.findByLoginId(loginId));
         }
         
         // 하위 호환성: X-USER 헤더 지원
@@ -29,13 +48,76 @@ public class AuthService {
         if (id.isEmpty()) {
             throw new IllegalArgumentException("로그인 후 이용해주세요.");
         }
-        return memberRepository.findByLoginId(id)
+        return resolve("hdr:" + id, () -> memberRepository.findByLoginId(id)
                 .or(() -> memberRepository.findByStudentId(id))
                 .or(() -> memberRepository.findByEmail(id))
-                .or(() -> memberRepository.findByName(id))
+                .or(() -> memberRepository.findByName(id)));
+    }
+
+    /**
+     * 본인 정보를 고칠 때 사용합니다. getRequester 는 최대 TTL 만큼 지난 캐시 복사본일 수 있으므로,
+     * 그대로 저장하면 그 사이 바뀐 컬럼을 예전 값으로 되돌립니다. 저장 전에는 항상 DB 에서 다시 읽습니다.
+     */
+    public Member getRequesterForUpdate(String requesterIdentifier) {
+        Member cached = getRequester(requesterIdentifier);
+        return memberRepository.findById(cached.getId())
                 .orElseThrow(() -> new IllegalArgumentException("로그인 후 이용해주세요."));
     }
 
+    /**
+     * 회원 정보(역할/권한/비밀번호/프로필/순서)가 바뀌거나 삭제되면 호출합니다.
+     * 해당 회원을 가리키는 캐시 항목을 모두 제거합니다.
+     */
+    public void evict(Member member) {
+        if (member == null || member.getId() == null) return;
+        Long memberId = member.getId();
+        principals.values().removeIf(e -> memberId.equals(e.snapshot().getId()));
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs != null) {
+            for (String name : attrs.getAttributeNames(RequestAttributes.SCOPE_REQUEST)) {
+                if (name.startsWith(REQUEST_ATTR)
+                        && attrs.getAttribute(name, RequestAttributes.SCOPE_REQUEST) instanceof Member m
+                        && memberId.equals(m.getId())) {
+                    attrs.removeAttribute(name, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        }
+    }
+
+    // 같은 요청 안에서는 같은 인스턴스, 요청 사이에는 TTL 캐시의 복사본을 돌려줌 (읽기 전용으로만 사용)
+    private Member resolve(String key, Supplier<Optional<Member>> loader) {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs != null && attrs.getAttribute(REQUEST_ATTR + key, RequestAttributes.SCOPE_REQUEST) instanceof Member m) {
+            return m;
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = principals.get(key);
+        Member member;
+        if (cached != null && cached.expiresAt() > now) {
+            member = copyOf(cached.snapshot());
+        } else {
+            member = loader.get().orElseThrow(() -> new IllegalArgumentException("로그인 후 이용해주세요."));
+            put(key, copyOf(member), now);
+        }
+        if (attrs != null) attrs.setAttribute(REQUEST_ATTR + key, member, RequestAttributes.SCOPE_REQUEST);
+        return member;
+    }
+
+    private void put(String key, Member snapshot, long now) {
+        if (principals.size() >= maxEntries) {
+            principals.values().removeIf(e -> e.expiresAt() <= now);
+            if (principals.size() >= maxEntries) principals.clear();
+        }
+        principals.put(key, new Entry(snapshot, now + ttlSeconds * 1000));
+    }
+
+    // 호출 측이 수정해도 캐시가 오염되지 않도록 분리된 복사본 사용
+    private static Member copyOf(Member source) {
+        Member copy = new Member();
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
     public void requireAnyRole(Member requester, Set<Role> allowed) {
         // 관리자 권한이면 역할과 무관하게 통과
         if (requester.isAdmin()) return;
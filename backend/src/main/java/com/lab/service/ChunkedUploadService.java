@@ -0,0 +1,222 @@
+package com.lab.service;
+
+import com.lab.domain.Member;
+import com.lab.domain.UploadSession;
+import com.lab.repository.UploadSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+    private static final Path PARTIAL_DIR = UploadStorageService.ROOT.resolve(".partial");
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadStorageService uploadStorageService;
+
+    @Value("${upload.chunked.max-file-size:2GB}")
+    private DataSize maxFileSize;
+
+    @Value("${upload.chunked.max-chunk-size:16MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${upload.chunked.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    // 순서대로 받은 청크의 누적 해시 (재시작 등으로 없으면 완료 시 파일을 다시 읽어 계산)
+    private record RunningDigest(MessageDigest digest, long bytes) {}
+
+    private final Map<String, RunningDigest> digests = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public UploadSession init(Member owner, String fileName, String contentType, long totalSize) throws IOException {
+        if (totalSize <= 0) {
+            throw new IllegalArgumentException("파일이 비어있습니다.");
+        }
+        if (totalSize > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("파일 크기가 너무 큽니다. (최대 " + maxFileSize.toMegabytes() + "MB)");
+        }
+        purgeExpired();
+        Files.createDirectories(PARTIAL_DIR);
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString().replace("-", ""));
+        session.setOwnerId(owner.getId());
+        session.setFileName(fileName);
+        session.setContentType(contentType);
+        session.setTotalSize(totalSize);
+        Files.deleteIfExists(partialFile(session.getId()));
+        Files.createFile(partialFile(session.getId()));
+        digests.put(session.getId(), new RunningDigest(sha256(), 0));
+        return uploadSessionRepository.save(session);
+    }
+
+    public UploadSession status(Member owner, String uploadId) {
+        return getOwned(owner, uploadId);
+    }
+
+    /**
+     * offset 위치에 청크를 최종 파일에 바로 이어 씁니다.
+     * offset 은 서버가 확인한 위치와 같아야 하며, checksum(SHA-256 hex)이 주어지면 검증합니다.
+     * 검증 실패 시 기록한 부분을 잘라내 마지막 확인 위치로 되돌립니다.
+     */
+    public UploadSession appendChunk(Member owner, String uploadId, long offset, String checksum, InputStream body) throws IOException {
+        synchronized (lockFor(uploadId)) {
+            UploadSession session = getOwned(owner, uploadId);
+            if (offset != session.getReceivedBytes()) {
+                throw new IllegalStateException("업로드 위치가 맞지 않습니다. 현재 위치: " + session.getReceivedBytes());
+            }
+            long limit = Math.min(maxChunkSize.toBytes(), session.getTotalSize() - offset);
+            if (limit <= 0) {
+                throw new IllegalStateException("이미 모든 데이터를 받았습니다.");
+            }
+
+            RunningDigest running = digests.remove(uploadId);
+            MessageDigest fileDigest = running != null && running.bytes() == offset ? running.digest() : null;
+            MessageDigest before = fileDigest == null ? null : cloneDigest(fileDigest);
+            MessageDigest chunkDigest = sha256();
+
+            InputStream in = new DigestInputStream(body, chunkDigest);
+            if (fileDigest != null) in = new DigestInputStream(in, fileDigest);
+
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(partialFile(uploadId), StandardOpenOption.WRITE)) {
+                // 이전에 확인되지 않은 채로 남은 꼬리 제거
+                channel.truncate(offset);
+                ReadableByteChannel src = Channels.newChannel(in);
+                while (written < limit) {
+                    long n = channel.transferFrom(src, offset + written, limit - written);
+                    if (n <= 0) break;
+                    written += n;
+                }
+                boolean tooLarge = written == limit && in.read() != -1;
+                String actual = HexFormat.of().formatHex(chunkDigest.digest());
+                if (tooLarge || written == 0 || (checksum != null && !checksum.isBlank() && !checksum.equalsIgnoreCase(actual))) {
+                    channel.truncate(offset);
+                    if (before != null) digests.put(uploadId, new RunningDigest(before, offset));
+                    throw new IllegalArgumentException(tooLarge ? "청크 크기가 너무 큽니다." : "청크 검증에 실패했습니다.");
+                }
+                channel.force(false);
+            }
+            if (fileDigest != null) digests.put(uploadId, new RunningDigest(fileDigest, offset + written));
+            session.setReceivedBytes(offset + written);
+            return uploadSessionRepository.save(session);
+        }
+    }
+
+    /**
+     * 모든 청크를 받은 세션을 업로드 저장소로 옮기고 세션을 정리합니다.
+     */
+    public UploadStorageService.StoredFile complete(Member owner, String uploadId) throws IOException {
+        synchronized (lockFor(uploadId)) {
+            UploadSession session = getOwned(owner, uploadId);
+            if (session.getReceivedBytes() != session.getTotalSize()) {
+                throw new IllegalStateException("아직 모든 데이터를 받지 못했습니다. 현재 위치: " + session.getReceivedBytes());
+            }
+            Path partial = partialFile(uploadId);
+            RunningDigest running = digests.remove(uploadId);
+            String hash = running != null && running.bytes() == session.getTotalSize()
+                    ? HexFormat.of().formatHex(running.digest().digest())
+                    : hashFile(partial);
+            UploadStorageService.StoredFile stored = uploadStorageService.adopt(partial, hash, session.getTotalSize(), session.getFileName());
+            Files.deleteIfExists(partial);
+            uploadSessionRepository.delete(session);
+            locks.remove(uploadId);
+            return stored;
+        }
+    }
+
+    public void abort(Member owner, String uploadId) throws IOException {
+        synchronized (lockFor(uploadId)) {
+            UploadSession session = getOwned(owner, uploadId);
+            discard(session);
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(sessionTtlHours));
+        for (UploadSession expired : uploadSessionRepository.findByUpdatedAtBefore(cutoff)) {
+            try {
+                discard(expired);
+            } catch (IOException e) {
+                logger.warn("만료된 업로드 세션 정리 실패: {}", expired.getId());
+            }
+        }
+    }
+
+    private void discard(UploadSession session) throws IOException {
+        digests.remove(session.getId());
+        locks.remove(session.getId());
+        Files.deleteIfExists(partialFile(session.getId()));
+        uploadSessionRepository.delete(session);
+    }
+
+    private UploadSession getOwned(Member owner, String uploadId) {
+        UploadSession session = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("업로드 세션을 찾을 수 없습니다."));
+        if (!session.getOwnerId().equals(owner.getId())) {
+            throw new SecurityException("권한이 없습니다.");
+        }
+        return session;
+    }
+
+    private Object lockFor(String uploadId) {
+        return locks.computeIfAbsent(uploadId, k -> new Object());
+    }
+
+    private Path partialFile(String uploadId) {
+        if (!uploadId.matches("[0-9a-f]{32}")) {
+            throw new IllegalArgumentException("업로드 세션을 찾을 수 없습니다.");
+        }
+        return PARTIAL_DIR.resolve(uploadId);
+    }
+
+    private static String hashFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(java.io.OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
+
+// 이어받기 가능한 청크 업로드 서비스입니다. 청크를 최종 파일에 바로 이어 쓰고 완료 시 저장소로 옮깁니다.
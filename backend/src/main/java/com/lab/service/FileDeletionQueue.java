@@ -0,0 +1,209 @@
+package com.lab.service;
+
+import com.lab.domain.FileDeletion;
+import com.lab.repository.FileDeletionRepository;
+import com.lab.repository.StoredBlobRepository;
+import com.lab.repository.UploadReferenceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+public class FileDeletionQueue {
+    private static final Logger logger = LoggerFactory.getLogger(FileDeletionQueue.class);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final FileDeletionRepository fileDeletionRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final UploadReferenceRepository uploadReferenceRepository;
+    private final MeterRegistry meterRegistry;
+
+    // 커밋 알림을 놓쳤거나(다른 서버에서 등록) 재시도 시각이 된 항목을 찾는 주기
+    @Value("${file-deletion.poll-seconds:5}")
+    private long pollSeconds;
+
+    @Value("${file-deletion.batch-size:100}")
+    private int batchSize;
+
+    // 이 횟수만큼 실패하면 대기열에서 빼고 경고만 남김 (남은 파일은 업로드 폴더 정리에서 처리)
+    @Value("${file-deletion.max-attempts:10}")
+    private int maxAttempts;
+
+    // 재시도 간격: base * 2^(실패 횟수), 최대 1시간
+    @Value("${file-deletion.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    private ScheduledExecutorService worker;
+    // 이미 깨워둔 drain 이 실행 전이면 다시 넣지 않음
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+
+    @PostConstruct
+    void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "file-deletion");
+            t.setDaemon(true);
+            return t;
+        });
+        worker.scheduleWithFixedDelay(this::drainSafely, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * 파일 삭제를 대기열에 기록합니다. 호출 측 트랜잭션과 함께 커밋되므로, 롤백되면 파일도 지워지지 않고
+     * 커밋 뒤 서버가 죽어도 다음 기동 때 다시 처리됩니다. 커밋되면 백그라운드 작업을 바로 깨웁니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String storedPath, String blobHash) {
+        Instant now = Instant.now();
+        FileDeletion d = new FileDeletion();
+        d.setStoredPath(storedPath);
+        d.setBlobHash(blobHash);
+        d.setEnqueuedAt(now);
+        d.setNextAttemptAt(now);
+        fileDeletionRepository.save(d);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wake();
+            }
+        });
+    }
+
+    private void wake() {
+        if (!wakePending.compareAndSet(false, true)) return;
+        try {
+            worker.execute(() -> {
+                wakePending.set(false);
+                drainSafely();
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 다음 기동 때 주기 작업이 처리
+            wakePending.set(false);
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (DataAccessException e) {
+            logger.warn("파일 삭제 대기열 처리 실패: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("파일 삭제 대기열 처리 중 오류", e);
+        }
+    }
+
+    // worker 스레드에서만 실행됨
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<FileDeletion> due = fileDeletionRepository.findDue(Instant.now(), PageRequest.of(0, batchSize));
+            if (due.isEmpty()) return;
+
+            List<Long> done = new ArrayList<>();
+            int retried = 0;
+            for (FileDeletion d : due) {
+                if (process(d)) {
+                    done.add(d.getId());
+                } else {
+                    retried++;
+                }
+            }
+            if (!done.isEmpty()) fileDeletionRepository.deleteByIds(done);
+            // 다시 가져와도 재시도 대기 중인 항목만 남았으면 다음 주기까지 기다림
+            if (due.size() < batchSize || retried == due.size()) return;
+        }
+    }
+
+    /**
+     * 항목 하나를 처리합니다. 대기열에서 빼도 되면(삭제/건너뜀/포기) true, 나중에 다시 시도하면 false.
+     */
+    private boolean process(FileDeletion d) {
+        // 등록 후 같은 내용이 다시 업로드되어 blob 이 살아났으면 지우지 않음
+        if (d.getBlobHash() != null && storedBlobRepository.existsById(d.getBlobHash())) {
+            count("skipped");
+            return true;
+        }
+        // 다른 글 본문이 아직 쓰고 있으면 지우지 않음 (예전 방식 파일은 참조 수가 없음)
+        if (uploadReferenceRepository.existsByStoredPath(d.getStoredPath())) {
+            count("skipped");
+            return true;
+        }
+        Path file;
+        try {
+            file = UploadStorageService.toFile(d.getStoredPath());
+        } catch (IllegalArgumentException e) {
+            logger.warn("잘못된 삭제 대기 경로를 건너뜁니다: {}", d.getStoredPath());
+            count("skipped");
+            return true;
+        }
+        try {
+            // 등록 후 같은 경로에 다시 쓰였으면(중복 업로드가 시각을 갱신함) 지우지 않음
+            if (Files.getLastModifiedTime(file).toInstant().isAfter(d.getEnqueuedAt())) {
+                count("skipped");
+                return true;
+            }
+            Files.delete(file);
+            ImageDerivativeService.deleteVariants(file);
+            count("deleted");
+            return true;
+        } catch (NoSuchFileException e) {
+            ImageDerivativeService.deleteVariants(file);
+            count("deleted");
+            return true;
+        } catch (IOException e) {
+            return retryOrGiveUp(d, e);
+        }
+    }
+
+    private boolean retryOrGiveUp(FileDeletion d, IOException e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > 500) error = error.substring(0, 500);
+        int attempts = d.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            logger.warn("업로드 파일 삭제를 {}회 실패하여 포기합니다: {} ({})", attempts, d.getStoredPath(), error);
+            count("gave_up");
+            return true;
+        }
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = Duration.ofSeconds(retryBaseSeconds).multipliedBy(factor);
+        if (delay.compareTo(MAX_BACKOFF) > 0) delay = MAX_BACKOFF;
+        fileDeletionRepository.reschedule(d.getId(), Instant.now().plus(delay), error);
+        count("retry");
+        return false;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("file_deletion.processed", "result", result).increment();
+    }
+}
+
+// 업로드 파일 삭제 대기열입니다. 삭제는 DB 트랜잭션과 함께 기록하고, 실제 파일은 커밋 후 백그라운드에서 일괄로 지웁니다.
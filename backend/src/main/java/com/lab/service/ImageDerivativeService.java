@@ -0,0 +1,245 @@
+package com.lab.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class ImageDerivativeService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    // JDK ImageIO 로 읽고 쓸 수 있는 형식만 처리 (webp 는 미지원, gif 는 애니메이션 보존을 위해 제외)
+    private static final Set<String> SUPPORTED = Set.of("jpg", "jpeg", "png");
+
+    private final UploadStorageService uploadStorageService;
+
+    @Value("${image.derivatives.widths:320,800,1600}")
+    private List<Integer> widths;
+
+    @Value("${image.derivatives.threads:2}")
+    private int threads;
+
+    @Value("${image.derivatives.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 압축 폭탄 방지: 이보다 큰 원본은 처리하지 않음
+    @Value("${image.derivatives.max-pixels:50000000}")
+    private long maxPixels;
+
+    private ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void start() {
+        widths = widths.stream().filter(w -> w > 0).sorted().distinct().toList();
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-derivative-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public List<Integer> getWidths() {
+        return widths;
+    }
+
+    public static boolean isSupported(String storedPath) {
+        String ext = extension(storedPath);
+        return ext != null && SUPPORTED.contains(ext);
+    }
+
+    /**
+     * 원본 이미지의 축소본 생성을 백그라운드 작업으로 예약합니다. 요청 스레드는 기다리지 않습니다.
+     * 큐가 가득 차면 건너뛰고, 나중에 ?w= 요청이 들어올 때 다시 예약됩니다.
+     */
+    public void submit(String storedPath) {
+        String path = UploadStorageService.normalize(storedPath);
+        if (path == null || !isSupported(path) || !inFlight.add(path)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(uploadStorageService.resolve(path));
+                } catch (Exception e) {
+                    logger.warn("이미지 축소본 생성 실패: {} ({})", path, e.getMessage());
+                } finally {
+                    inFlight.remove(path);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(path);
+            logger.warn("이미지 축소본 작업 큐가 가득 찼습니다: {}", path);
+        }
+    }
+
+    /**
+     * 요청한 너비 이상인 가장 작은 축소본의 경로(/uploads/...)를 돌려줍니다. 없으면 null.
+     */
+    public String variantFor(String storedPath, int requestedWidth) {
+        for (int w : widths) {
+            if (w >= requestedWidth) return variantPath(storedPath, w);
+        }
+        return null;
+    }
+
+    // /uploads/ab/cd/hash.jpg -> /uploads/ab/cd/hash_w320.jpg
+    public static String variantPath(String storedPath, int width) {
+        int dot = storedPath.lastIndexOf('.');
+        int slash = storedPath.lastIndexOf('/');
+        if (dot <= slash) return storedPath + "_w" + width;
+        return storedPath.substring(0, dot) + "_w" + width + storedPath.substring(dot);
+    }
+
+    // 원본 삭제 시 함께 만들어진 축소본도 삭제
+    static void deleteVariants(Path original) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot == -1 ? name : name.substring(0, dot);
+        Path dir = original.getParent();
+        if (dir == null || !Files.isDirectory(dir)) return;
+        try (DirectoryStream<Path> variants = Files.newDirectoryStream(dir, base + "_w*")) {
+            for (Path v : variants) Files.deleteIfExists(v);
+        } catch (IOException e) {
+            logger.warn("축소본 삭제 실패: {}", original.getFileName());
+        }
+    }
+
+    private void generate(Path original) throws IOException {
+        if (!Files.isRegularFile(original)) return;
+        String ext = extension(original.getFileName().toString());
+        BufferedImage source = read(original);
+        if (source == null) return;
+
+        for (int width : widths) {
+            Path target = original.resolveSibling(
+                    Path.of(variantPath("/" + original.getFileName(), width)).getFileName());
+            if (Files.exists(target)) continue;
+            // 원본이 이 너비보다 작으면 원본을 그대로 축소본 자리에 둠 (다음 요청부터 다시 디코딩하지 않음)
+            if (width >= source.getWidth()) {
+                linkOriginal(original, target, ext);
+                continue;
+            }
+
+            int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            BufferedImage scaled = scale(source, width, height, !"png".equals(ext));
+            Path temp = Files.createTempFile(original.getParent(), ".variant-", "." + ext);
+            try {
+                if (!ImageIO.write(scaled, "jpeg".equals(ext) ? "jpg" : ext, temp.toFile())) return;
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // 같은 파일시스템이면 하드 링크(공간을 더 쓰지 않음), 안 되면 복사
+    private static void linkOriginal(Path original, Path target, String ext) throws IOException {
+        try {
+            Files.createLink(target, original);
+            return;
+        } catch (FileAlreadyExistsException e) {
+            return;
+        } catch (UnsupportedOperationException | IOException e) {
+            // 아래에서 복사
+        }
+        Path temp = Files.createTempFile(original.getParent(), ".variant-", "." + ext);
+        try {
+            Files.copy(original, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    logger.warn("이미지가 너무 커서 축소본을 만들지 않습니다: {}", file.getFileName());
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 큰 비율로 줄일 때는 절반씩 여러 번 줄여 품질 유지
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (opaque) {
+                    g.setColor(java.awt.Color.WHITE);
+                    g.fillRect(0, 0, w, h);
+                }
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        if (dot == -1 || dot < name.lastIndexOf('/')) return null;
+        return name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
+
+// 업로드 이미지 축소본(너비 320/800/1600) 생성 서비스입니다. 제한된 작업 풀에서 백그라운드로 처리합니다.
@@ -0,0 +1,155 @@
+package com.lab.service;
+
+import com.lab.domain.RateLimitBucket;
+import com.lab.repository.RateLimitBucketRepository;
+import io.github.bucket4j.ConsumptionProbe;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRateLimiter.class);
+    private static final int MAX_CAS_ATTEMPTS = 5;
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+
+    // 한 번에 DB 에서 가져오는 최대 토큰 수 (한도의 1/10 을 넘지 않음)
+    @Value("${rate-limit.jdbc.lease-size:10}")
+    private int leaseSize;
+
+    // 지난 윈도우 행 삭제 기준 (가장 긴 윈도우보다 길어야 함)
+    @Value("${rate-limit.jdbc.purge-after-minutes:60}")
+    private long purgeAfterMinutes;
+
+    @Value("${rate-limit.store.max-entries:100000}")
+    private int maxLeases;
+
+    @Value("${rate-limit.store.sweep-interval-seconds:60}")
+    private int sweepIntervalSeconds;
+
+    private record Grant(int tokens, long remaining) {}
+
+    // 이 노드가 미리 받아둔 토큰 (윈도우가 바뀌면 남은 토큰은 버림)
+    private static final class Lease {
+        long windowStart = -1;
+        volatile long windowEnd;
+        int tokens;
+        long remoteRemaining;
+        boolean exhausted;
+    }
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long nextSweepAt;
+
+    /**
+     * 고정 윈도우(epoch 기준 정렬) 안에서 토큰 1개를 사용합니다.
+     * 로컬에 받아둔 토큰이 있으면 DB 를 거치지 않고, 없을 때만 rate_limit_buckets 행을
+     * 버전 비교(CAS)로 갱신해 여러 개를 한꺼번에 가져옵니다. 모든 노드가 가져간 토큰의 합은 한도를 넘지 않습니다.
+     * DB 를 사용할 수 없으면 null 을 돌려주며, 호출 측은 로컬 버킷으로 대신 제한합니다.
+     */
+    public ConsumptionProbe tryConsume(String limit, long clientKey, int requests, Duration window) {
+        long windowMillis = window.toMillis();
+        long now = System.currentTimeMillis();
+        long windowStart = now - Math.floorMod(now, windowMillis);
+        long nanosToReset = TimeUnit.MILLISECONDS.toNanos(windowStart + windowMillis - now);
+        String key = limit + ":" + Long.toHexString(clientKey);
+
+        ConsumptionProbe probe;
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        synchronized (lease) {
+            if (lease.windowStart != windowStart) {
+                lease.windowStart = windowStart;
+                lease.windowEnd = windowStart + windowMillis;
+                lease.tokens = 0;
+                lease.exhausted = false;
+            }
+            if (lease.tokens == 0 && !lease.exhausted) {
+                Grant grant;
+                try {
+                    grant = acquire(key, windowStart, requests, Math.min(leaseSize, Math.max(1, requests / 10)));
+                } catch (DataAccessException e) {
+                    logger.warn("분산 요청 제한 저장소 접근 실패, 로컬 제한으로 대체합니다: {}", e.getMessage());
+                    return null;
+                }
+                if (grant == null) return null;
+                lease.tokens = grant.tokens();
+                lease.remoteRemaining = grant.remaining();
+                lease.exhausted = grant.tokens() == 0;
+            }
+            if (lease.tokens > 0) {
+                lease.tokens--;
+                probe = ConsumptionProbe.consumed(lease.remoteRemaining + lease.tokens, nanosToReset);
+            } else {
+                probe = ConsumptionProbe.rejected(0, nanosToReset, nanosToReset);
+            }
+        }
+        if (now >= nextSweepAt || leases.size() > maxLeases) {
+            sweep(now);
+        }
+        return probe;
+    }
+
+    // 현재 윈도우의 토큰을 최대 want 개 가져옵니다. 경합이 계속되면 null.
+    private Grant acquire(String key, long windowStart, int requests, int want) {
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            RateLimitBucket row = rateLimitBucketRepository.findById(key).orElse(null);
+            if (row == null) {
+                int tokens = Math.min(want, requests);
+                try {
+                    rateLimitBucketRepository.insertNew(key, windowStart, tokens);
+                    return new Grant(tokens, requests - tokens);
+                } catch (DataIntegrityViolationException e) {
+                    continue; // 다른 노드가 먼저 만듦
+                }
+            }
+            if (row.getWindowStart() < windowStart) {
+                int tokens = Math.min(want, requests);
+                if (rateLimitBucketRepository.startWindow(key, row.getRowVersion(), windowStart, tokens) == 1) {
+                    return new Grant(tokens, requests - tokens);
+                }
+                continue;
+            }
+            // 노드 간 시계 차이로 행의 윈도우가 더 새로우면 그 윈도우의 사용량을 그대로 따름
+            int available = requests - row.getUsed();
+            if (available <= 0) return new Grant(0, 0);
+            int tokens = Math.min(want, available);
+            if (rateLimitBucketRepository.take(key, row.getRowVersion(), tokens) == 1) {
+                return new Grant(tokens, available - tokens);
+            }
+        }
+        logger.warn("분산 요청 제한 갱신 경합이 계속되어 로컬 제한으로 대체합니다: {}", key);
+        return null;
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            nextSweepAt = now + TimeUnit.SECONDS.toMillis(Math.max(1, sweepIntervalSeconds));
+            leases.values().removeIf(l -> l.windowEnd <= now);
+            // 남은 토큰을 잃을 뿐이므로(한도는 더 엄격해질 뿐) 넘치면 전부 비움
+            if (leases.size() > maxLeases) leases.clear();
+            rateLimitBucketRepository.deleteStale(now - TimeUnit.MINUTES.toMillis(purgeAfterMinutes));
+        } catch (DataAccessException e) {
+            logger.warn("지난 요청 제한 기록 정리 실패: {}", e.getMessage());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
+
+// MySQL(rate_limit_buckets) 기반 분산 요청 제한 서비스입니다. 노드마다 토큰을 묶음으로 받아 DB 왕복을 줄입니다.
@@ -6,6 +6,7 @@ import com.lab.repository.LabInfoRepository;
 import com.lab.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -16,9 +17,12 @@ import java.util.Optional;
 public class LabInfoService {
     private final LabInfoRepository labInfoRepository;
     private final MemberRepository memberRepository;
+    private final VersionedCache versionedCache;
 
-    public Optional<LabInfo> getLabInfo() {
-        return labInfoRepository.findFirstByOrderByUpdatedAtDesc();
+    // 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회 (적재는 리포지토리 트랜잭션으로)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public VersionedCache.Entry<Optional<LabInfo>> getLabInfo() {
+        return versionedCache.get(VersionedCache.LAB_INFO, labInfoRepository::findFirstByOrderByUpdatedAtDesc);
     }
 
     @Transactional
@@ -43,7 +47,9 @@ public class LabInfoService {
         labInfo.setContactPhone(contactPhone);
         labInfo.setDirector(director);
 
-        return labInfoRepository.save(labInfo);
+        LabInfo saved = labInfoRepository.save(labInfo);
+        versionedCache.evict(VersionedCache.LAB_INFO);
+        return saved;
     }
 }
 
@@ -0,0 +1,81 @@
+package com.lab.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class MemberPhotoService {
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/jpg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp"
+    );
+    // base64 로 받은 사진 최대 크기 (디코딩 후 약 10MB)
+    private static final int MAX_DATA_URL_LENGTH = 14 * 1024 * 1024;
+
+    private final UploadStorageService uploadStorageService;
+    private final ImageDerivativeService imageDerivativeService;
+
+    /**
+     * 프로필 사진 값을 교체합니다.
+     * base64(data:image/...) 값은 업로드 저장소에 파일로 저장하고 짧은 /uploads/... 경로로 바꿉니다.
+     * 새 사진은 참조를 올리고, 이전 사진은 참조를 해제합니다.
+     */
+    @Transactional
+    public String replacePhoto(String current, String requested) throws IOException {
+        String next = requested == null || requested.isBlank() ? null : requested.trim();
+        if (next != null && next.startsWith("data:")) {
+            next = storeDataUrl(next);
+        } else if (next != null && Objects.equals(UploadStorageService.normalize(next), UploadStorageService.normalize(current))
+                && UploadStorageService.normalize(next) != null) {
+            // 같은 파일(축소본 ?w= 등 쿼리만 다른 경우)은 그대로 유지
+            return current;
+        } else if (next != null) {
+            uploadStorageService.retain(next);
+        }
+        if (current != null && !Objects.equals(current, next)) {
+            releaseIfStored(current);
+        }
+        return next;
+    }
+
+    public void releaseIfStored(String photoUrl) {
+        // 예전 방식 파일은 다른 곳에서 함께 쓸 수 있으므로 blob 만 해제
+        if (UploadStorageService.blobHash(photoUrl).isPresent()) {
+            uploadStorageService.release(photoUrl);
+        }
+    }
+
+    private String storeDataUrl(String dataUrl) throws IOException {
+        if (dataUrl.length() > MAX_DATA_URL_LENGTH) {
+            throw new IllegalArgumentException("사진 크기가 너무 큽니다. (최대 10MB)");
+        }
+        int comma = dataUrl.indexOf(',');
+        String header = comma == -1 ? "" : dataUrl.substring(5, comma).toLowerCase();
+        String mime = header.split(";")[0];
+        String ext = EXTENSIONS.get(mime);
+        if (ext == null || !header.contains(";base64")) {
+            throw new IllegalArgumentException("지원하지 않는 사진 형식입니다.");
+        }
+        InputStream in = Base64.getMimeDecoder().wrap(
+                new ByteArrayInputStream(dataUrl.substring(comma + 1).getBytes(StandardCharsets.US_ASCII)));
+        UploadStorageService.StoredFile stored = uploadStorageService.store(in, "photo." + ext);
+        uploadStorageService.retain(stored.storedPath());
+        imageDerivativeService.submit(stored.storedPath());
+        return stored.storedPath();
+    }
+}
+
+// 구성원 프로필 사진 저장 서비스입니다. base64 사진을 업로드 저장소 파일로 옮기고 짧은 URL만 DB에 남깁니다.
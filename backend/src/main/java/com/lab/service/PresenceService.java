@@ -0,0 +1,353 @@
+package com.lab.service;
+
+import com.lab.domain.Attendance;
+import com.lab.repository.AttendanceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class PresenceService {
+    private static final Logger logger = LoggerFactory.getLogger(PresenceService.class);
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final AttendanceRepository attendanceRepository;
+
+    // 프록시/로드밸런서의 유휴 연결 종료보다 짧아야 함
+    @Value("${presence.sse.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    // 연결 최대 유지 시간. 만료되면 브라우저가 Last-Event-ID 로 다시 연결함
+    @Value("${presence.sse.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    // 재연결 시 다시 보내줄 수 있는 최근 이벤트 수. 더 오래 끊겼으면 전체 현황을 보냄
+    @Value("${presence.sse.replay-size:256}")
+    private int replaySize;
+
+    @Value("${presence.sse.max-connections:200}")
+    private int maxConnections;
+
+    // 연결마다 쌓아둘 수 있는 미전송 이벤트 수. 넘치면 느린 연결로 보고 끊음 (재연결 시 전체 현황으로 복구)
+    @Value("${presence.sse.send-queue-size:32}")
+    private int sendQueueSize;
+
+    // 전송 하나가 이 시간보다 오래 걸리면 끊음
+    @Value("${presence.sse.send-timeout-seconds:10}")
+    private long sendTimeoutSeconds;
+
+    @Value("${presence.sse.send-threads:4}")
+    private int sendThreads;
+
+    public record Presence(Long memberId, String name, Instant checkInAt, Instant checkOutAt) {}
+
+    public record Snapshot(LocalDate date, List<Presence> members) {}
+
+    private record Event(long seq, String name, Object data) {}
+
+    private static final Event HEARTBEAT = new Event(0, null, null);
+
+    // 연결별 전송 대기열. sender 스레드 하나만 꺼내 보내므로 순서가 유지되고, 느린 연결은 자기 대기열만 막힘
+    private static final class Client {
+        final SseEmitter emitter;
+        final ArrayDeque<Event> queue = new ArrayDeque<>();
+        boolean draining;
+        boolean closed;
+        volatile long sendingSince; // 전송 중이면 시작 시각 (nanoTime), 아니면 0
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    // 재시작 후 이전 프로세스의 이벤트 번호로 재생하지 않도록 이벤트 ID 앞에 붙임
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<SseEmitter, Client> clients = new ConcurrentHashMap<>();
+    // 접속 수 상한용. clients 는 worker 가 등록을 마친 뒤에야 늘어나므로, 요청 스레드에서 바로 자리를 잡음
+    private final Set<SseEmitter> reserved = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    // 아래 상태는 worker 스레드에서만 읽고 씀 (적용/기록/대기열 추가 순서가 그대로 유지됨)
+    private ScheduledExecutorService worker;
+    // 실제 전송(블로킹 쓰기)은 worker 가 아닌 별도 스레드에서 수행
+    private ExecutorService sender;
+    private final Map<Long, Presence> today = new LinkedHashMap<>();
+    private LocalDate day;
+    private Event[] ring;
+    private long seq;
+    private long ringStart = 1; // 재생 가능한 가장 오래된 이벤트 번호 (날짜가 바뀌면 초기화)
+
+    @PostConstruct
+    void start() {
+        ring = new Event[Math.max(1, replaySize)];
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "presence-sse");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger senderCount = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(Math.max(1, sendThreads), r -> {
+            Thread t = new Thread(r, "presence-sse-send-" + senderCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        worker.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.shutdownNow();
+        sender.shutdownNow();
+        clients.keySet().forEach(SseEmitter::complete);
+        clients.clear();
+        reserved.clear();
+        connections.set(0);
+    }
+
+    /**
+     * 재실 현황 스트림에 연결합니다. 연결은 비동기 요청으로 유지되어 클라이언트마다 스레드를 쓰지 않습니다.
+     * Last-Event-ID 가 최근 이벤트 범위 안이면 놓친 이벤트만 다시 보내고, 아니면 오늘 전체 현황(snapshot)을 보냅니다.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("재실 현황 접속이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        reserved.add(emitter);
+        emitter.onCompletion(() -> release(emitter));
+        emitter.onTimeout(() -> release(emitter));
+        emitter.onError(e -> release(emitter));
+        try {
+            worker.execute(() -> register(emitter, lastEventId));
+        } catch (RejectedExecutionException e) {
+            release(emitter);
+            throw new IllegalStateException("재실 현황을 사용할 수 없습니다.");
+        }
+        return emitter;
+    }
+
+    // 커밋된 출퇴근 기록만 반영. 요청 스레드는 작업을 넘기기만 하고 전송을 기다리지 않음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        try {
+            worker.execute(() -> apply(event));
+        } catch (RejectedExecutionException e) {
+            logger.debug("재실 현황 작업자가 종료되어 이벤트를 버립니다: {}", event);
+        }
+    }
+
+    private void register(SseEmitter emitter, String lastEventId) {
+        rollover();
+        Client client = new Client(emitter);
+        clients.put(emitter, client);
+        // 등록 전에 이미 끊긴 연결은 목록에 넣지 않음 (release 는 reserved 를 먼저 비우므로 넣은 뒤 확인)
+        if (!reserved.contains(emitter)) {
+            clients.remove(emitter);
+            return;
+        }
+        long last = parseSeq(lastEventId);
+        // 놓친 이벤트가 대기열보다 많으면 하나씩 다시 보내는 대신 전체 현황을 보냄
+        if (last >= ringStart - 1 && last <= seq && seq - last <= Math.min(ring.length, sendQueueSize)) {
+            for (long s = last + 1; s <= seq; s++) {
+                if (!offer(client, ring[(int) (s % ring.length)])) return;
+            }
+        } else {
+            offer(client, new Event(seq, "snapshot", snapshot()));
+        }
+    }
+
+    private void apply(AttendanceChangedEvent event) {
+        rollover();
+        if (!event.workDate().equals(day)) return;
+        Presence presence = new Presence(event.memberId(), event.memberName(), event.checkInAt(), event.checkOutAt());
+        today.put(event.memberId(), presence);
+        broadcast(record(event.type(), presence));
+    }
+
+    private void heartbeat() {
+        try {
+            rollover();
+            for (Client client : clients.values()) {
+                offer(client, HEARTBEAT);
+            }
+        } catch (RuntimeException e) {
+            // 예외가 나면 이후 주기 실행이 멈추므로 여기서 처리
+            logger.warn("재실 현황 heartbeat 실패: {}", e.getMessage());
+        }
+    }
+
+    // 날짜(KST)가 바뀌면 오늘 기록으로 다시 채우고, 연결된 클라이언트에 새 현황을 보냄
+    private void rollover() {
+        LocalDate now = LocalDate.now(ZONE);
+        if (now.equals(day)) return;
+        List<Attendance> records;
+        try {
+            records = attendanceRepository.findByWorkDateBetween(now, now);
+        } catch (DataAccessException e) {
+            logger.warn("오늘 출퇴근 기록 조회 실패: {}", e.getMessage());
+            records = List.of();
+        }
+        boolean first = day == null;
+        day = now;
+        today.clear();
+        records.stream()
+                .sorted((a, b) -> compare(a.getCheckInAt(), b.getCheckInAt()))
+                .forEach(a -> today.put(a.getMember().getId(), new Presence(a.getMember().getId(),
+                        a.getMember().getName(), a.getCheckInAt(), a.getCheckOutAt())));
+        ringStart = seq + 1;
+        if (!first) broadcast(record("snapshot", snapshot()));
+    }
+
+    private Event record(String name, Object data) {
+        Event event = new Event(++seq, name, data);
+        ring[(int) (event.seq() % ring.length)] = event;
+        if (name.equals("snapshot")) ringStart = event.seq();
+        return event;
+    }
+
+    private Snapshot snapshot() {
+        return new Snapshot(day, new ArrayList<>(today.values()));
+    }
+
+    private void broadcast(Event event) {
+        for (Client client : clients.values()) {
+            offer(client, event);
+        }
+    }
+
+    // 대기열에 넣기만 하고 바로 돌아옴. 대기열이 찼거나 진행 중인 전송이 너무 오래 걸리면 연결을 끊음
+    private boolean offer(Client client, Event event) {
+        long since = client.sendingSince;
+        boolean stalled = since != 0 && System.nanoTime() - since > TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        boolean idle;
+        boolean accepted;
+        synchronized (client) {
+            if (client.closed) return false;
+            idle = !client.draining;
+            accepted = !stalled && client.queue.size() < sendQueueSize;
+            if (accepted) {
+                client.queue.add(event);
+                client.draining = true;
+            } else {
+                client.closed = true;
+                client.queue.clear();
+            }
+        }
+        try {
+            if (accepted) {
+                if (idle) sender.execute(() -> drain(client));
+                return true;
+            }
+            logger.debug("재실 현황 전송이 밀려 연결을 끊습니다 (stalled={})", stalled);
+            release(client.emitter);
+            // 전송 중이면 전송 스레드가 끝난 뒤 종료함 (쓰기가 막힌 동안 여기서 기다리지 않음)
+            if (idle) sender.execute(() -> complete(client.emitter));
+        } catch (RejectedExecutionException e) {
+            logger.debug("재실 현황 전송 스레드가 종료되어 이벤트를 버립니다");
+        }
+        return false;
+    }
+
+    // sender 스레드: 대기열이 빌 때까지 순서대로 전송
+    private void drain(Client client) {
+        while (true) {
+            Event event;
+            synchronized (client) {
+                event = client.closed ? null : client.queue.poll();
+                if (event == null) {
+                    client.draining = false;
+                    if (client.closed) break;
+                    return;
+                }
+            }
+            client.sendingSince = System.nanoTime();
+            boolean sent = send(client.emitter, event);
+            client.sendingSince = 0;
+            if (!sent) {
+                synchronized (client) {
+                    client.closed = true;
+                    client.queue.clear();
+                    client.draining = false;
+                }
+                break;
+            }
+        }
+        release(client.emitter);
+        complete(client.emitter);
+    }
+
+    private boolean send(SseEmitter emitter, Event event) {
+        try {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(bootId + "-" + event.seq())
+                        .name(event.name())
+                        .data(event.data(), MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // 연결이 끝나면 한 번만 자리를 돌려줌 (종료 콜백과 전송 실패가 모두 부를 수 있음)
+    private void release(SseEmitter emitter) {
+        if (reserved.remove(emitter)) connections.decrementAndGet();
+        clients.remove(emitter);
+    }
+
+    private static void complete(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // 이미 종료됨
+        }
+    }
+
+    // "<bootId>-<seq>" 형식만 인정. 다른 프로세스의 ID 나 형식 오류면 -1 (전체 현황 전송)
+    private long parseSeq(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(bootId + "-")) return -1;
+        try {
+            return Long.parseLong(lastEventId.substring(bootId.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int compare(Instant a, Instant b) {
+        if (a == null || b == null) return a == null ? (b == null ? 0 : 1) : -1;
+        return a.compareTo(b);
+    }
+}
+
+// 연구실 재실 현황 서비스입니다. 오늘 출퇴근 상태를 메모리에 두고 SSE 로 변경 사항을 전달합니다.
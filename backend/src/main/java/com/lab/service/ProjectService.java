@@ -2,17 +2,13 @@ package com.lab.service;
 
 import com.lab.domain.Project;
 import com.lab.domain.Member;
+import com.lab.domain.UploadReference;
 import com.lab.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +16,7 @@ import java.util.regex.Pattern;
 public class ProjectService {
     private final ProjectRepository projectRepository;
     private final com.lab.repository.MemberRepository memberRepository;
+    private final UploadReferenceService uploadReferenceService;
 
     public List<Project> getAllProjects() {
         return projectRepository.findAllByOrderByCreatedAtDesc();
@@ -30,6 +27,17 @@ public class ProjectService {
         return projectRepository.findAll(pageable);
     }
 
+    // 커서 기반 목록 (깊은 페이지에서도 OFFSET/count 비용 없음)
+    public com.lab.web.dto.CursorPage<Project> getProjectsAfter(String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), 100);
+        var position = com.lab.web.dto.CursorPage.decode(cursor);
+        List<Project> fetched = projectRepository.findPageBefore(
+                position == null ? null : position.createdAt(),
+                position == null ? null : position.id(),
+                org.springframework.data.domain.PageRequest.of(0, limit + 1));
+        return com.lab.web.dto.CursorPage.of(fetched, limit, p -> new com.lab.web.dto.CursorPage.Position(p.getCreatedAt(), p.getId()));
+    }
+
     public List<Project> getProjectsByStatus(Project.ProjectStatus status) {
         return projectRepository.findByStatusOrderByCreatedAtDesc(status);
     }
@@ -49,7 +57,9 @@ public class ProjectService {
         project.setMembers(members);
         project.setCreatedBy(createdBy);
 
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        uploadReferenceService.sync(UploadReference.OwnerType.PROJECT, saved.getId(), description);
+        return saved;
     }
 
     @Transactional
@@ -71,6 +81,9 @@ public class ProjectService {
                 throw new SecurityException("작성자만 수정할 수 있습니다.");
             }
         }
+        // 저장된 참조 목록과 비교해 추가/삭제된 파일만 참조 수 반영 (이전 설명을 다시 훑지 않음)
+        uploadReferenceService.sync(UploadReference.OwnerType.PROJECT, projectId, description);
+
         project.setTitle(title);
         project.setSummary(summary);
         project.setDescription(description);
@@ -90,61 +103,9 @@ public class ProjectService {
             }
         }
         
-        // description에서 파일 URL 추출 및 삭제
-        String description = project.getDescription();
-        if (description != null && !description.isBlank()) {
-            
-            Pattern imagePattern = Pattern.compile("!\\[[^\\]]*\\]\\(([^)]+)\\)");
-            
-            Pattern filePattern = Pattern.compile("\\[파일\\]\\(([^)]+)\\)");
-            
-            Pattern urlPattern = Pattern.compile("(https?://[^\\s)]+/uploads/[^\\s)]+)");
-            
-            deleteFilesFromDescription(description, imagePattern);
-            deleteFilesFromDescription(description, filePattern);
-            deleteFilesFromDescription(description, urlPattern);
-        }
+        // 참조 목록으로 업로드 파일 해제 (참조가 없어지면 삭제 대기열로)
+        uploadReferenceService.clear(UploadReference.OwnerType.PROJECT, id);
         
         projectRepository.delete(project);
     }
-    
-    private void deleteFilesFromDescription(String description, Pattern pattern) {
-        Matcher matcher = pattern.matcher(description);
-        while (matcher.find()) {
-            String url = matcher.group(1);
-            try {
-                
-                String filename = extractFilenameFromUrl(url);
-                if (filename != null && !filename.isBlank()) {
-                    java.nio.file.Path filePath = Paths.get("uploads").resolve(filename);
-                    Files.deleteIfExists(filePath);
-                }
-            } catch (IOException ignored) {
-            
-            }
-        }
-    }
-    
-    private String extractFilenameFromUrl(String url) {
-        try {
-            
-            int uploadsIndex = url.indexOf("/uploads/");
-            if (uploadsIndex != -1) {
-                String pathPart = url.substring(uploadsIndex + "/uploads/".length());
-                
-                int queryIndex = pathPart.indexOf('?');
-                if (queryIndex != -1) {
-                    pathPart = pathPart.substring(0, queryIndex);
-                }
-                int anchorIndex = pathPart.indexOf('#');
-                if (anchorIndex != -1) {
-                    pathPart = pathPart.substring(0, anchorIndex);
-                }
-                return pathPart;
-            }
-        } catch (Exception ignored) {
-        }
-        return null;
-    }
 }
-
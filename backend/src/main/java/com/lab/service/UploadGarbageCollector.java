@@ -0,0 +1,330 @@
+package com.lab.service;
+
+import com.lab.repository.MemberRepository;
+import com.lab.repository.NoticeAttachmentRepository;
+import com.lab.repository.StoredBlobRepository;
+import com.lab.repository.UploadReferenceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class UploadGarbageCollector {
+    private static final Logger logger = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    // 축소본: hash_w320.jpg -> hash.jpg
+    private static final Pattern VARIANT = Pattern.compile("^(.+)_w\\d+(\\.[a-z0-9]{1,10})?$");
+    // 중간에 프로세스가 죽어 남은 임시 파일: 업로드 spool(.tmp/up-*.part), 축소본 생성(.variant-*)
+    private static final Pattern LEFTOVER_TEMP = Pattern.compile("^(\\.tmp/up-[^/]+\\.part|([^.][^/]*/)*\\.variant-[^/]+)$");
+    private static final String TMP_DIR = ".tmp";
+    private static final int SAMPLE_LIMIT = 100;
+    // 예전 본문 색인이 업로드 경로를 끊던 글자
+    private static final String TRUNCATED_AT = " \t\n\r()[]\"'<>";
+
+    private final UploadReferenceRepository uploadReferenceRepository;
+    private final NoticeAttachmentRepository noticeAttachmentRepository;
+    private final UploadReferenceService uploadReferenceService;
+    private final MemberRepository memberRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    // 주기 실행 여부 (꺼도 관리자 API 로 직접 실행 가능)
+    @Value("${upload-gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${upload-gc.initial-delay-minutes:10}")
+    private long initialDelayMinutes;
+
+    @Value("${upload-gc.interval-hours:24}")
+    private long intervalHours;
+
+    // 이 시간보다 최근에 쓰인 파일은 지우지 않음 (업로드 후 아직 저장하지 않은 글 등)
+    @Value("${upload-gc.grace-hours:24}")
+    private long graceHours;
+
+    // 주기 실행도 목록만 만들고 지우지 않음 (기본값). 결과 목록을 확인한 뒤 false 로 바꿈
+    @Value("${upload-gc.dry-run:true}")
+    private boolean scheduledDryRun;
+
+    // 디스크 부하를 줄이기 위한 초당 최대 삭제 수
+    @Value("${upload-gc.max-deletes-per-second:20}")
+    private int maxDeletesPerSecond;
+
+    private ScheduledExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Report lastReport;
+
+    /**
+     * 정리 결과. sample 은 지운(dry run 이면 지울) 파일 중 앞쪽 일부입니다.
+     */
+    public record Report(boolean dryRun, Instant startedAt, long durationMs, int referenced,
+                         long scannedFiles, long recentFiles, long orphanFiles, long orphanBytes,
+                         long deletedFiles, long deletedBytes, long failedFiles, List<String> sample) {}
+
+    @PostConstruct
+    void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "upload-gc");
+            t.setDaemon(true);
+            return t;
+        });
+        if (enabled) {
+            worker.scheduleWithFixedDelay(this::runScheduled,
+                    initialDelayMinutes, TimeUnit.HOURS.toMinutes(intervalHours), TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.shutdownNow();
+    }
+
+    public Optional<Report> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private void runScheduled() {
+        try {
+            run(scheduledDryRun);
+        } catch (IllegalStateException e) {
+            logger.info("업로드 정리 건너뜀: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("업로드 정리 실패", e);
+        }
+    }
+
+    /**
+     * 참조 중인 업로드 경로를 모두 모은 뒤(mark) uploads/ 를 돌며 참조되지 않고 유예 시간이 지난 파일을 지웁니다(sweep).
+     * 중단된 업로드/축소본 생성이 남긴 임시 파일(.tmp/up-*.part, .variant-*)도 유예 시간이 지나면 함께 지웁니다.
+     * 한 번에 하나만 실행되며, 이미 실행 중이거나 참조 색인 백필이 끝나지 않았으면 IllegalStateException 을 던집니다.
+     */
+    public Report run(boolean dryRun) {
+        if (!uploadReferenceService.isReady()) {
+            throw new IllegalStateException("업로드 참조 색인이 아직 준비되지 않았습니다.");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("업로드 정리가 이미 실행 중입니다.");
+        }
+        Timer.Sample timer = Timer.start(meterRegistry);
+        String result = "failed";
+        try {
+            Instant startedAt = Instant.now();
+            NavigableSet<String> referenced = mark();
+            Sweep sweep = new Sweep(dryRun, referenced, startedAt.minus(Duration.ofHours(graceHours)));
+            Path root = UploadStorageService.ROOT.toAbsolutePath().normalize();
+            if (Files.isDirectory(root)) {
+                Files.walkFileTree(root, sweep);
+            }
+            Report report = new Report(dryRun, startedAt, Duration.between(startedAt, Instant.now()).toMillis(),
+                    referenced.size(), sweep.scanned, sweep.recent, sweep.orphans, sweep.orphanBytes,
+                    sweep.deleted, sweep.deletedBytes, sweep.failed, List.copyOf(sweep.sample));
+            lastReport = report;
+            result = dryRun ? "dry_run" : "deleted";
+            logger.info("업로드 정리{}: 검사 {}개, 미참조 {}개({} bytes), 삭제 {}개, 실패 {}개",
+                    dryRun ? "(dry run)" : "", report.scannedFiles(), report.orphanFiles(), report.orphanBytes(),
+                    report.deletedFiles(), report.failedFiles());
+            return report;
+        } catch (IOException e) {
+            throw new IllegalStateException("업로드 폴더를 읽지 못했습니다: " + e.getMessage(), e);
+        } finally {
+            timer.stop(Timer.builder("upload_gc.duration").tag("result", result).register(meterRegistry));
+            running.set(false);
+        }
+    }
+
+    // 참조 색인(공지 본문/프로젝트 설명), 첨부, 프로필 사진에서 참조 중인 파일(uploads/ 기준 상대 경로)을 모음
+    private NavigableSet<String> mark() {
+        NavigableSet<String> referenced = new TreeSet<>();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> {
+            // MySQL 스트리밍 결과는 연결당 하나만 열 수 있으므로 차례로 읽고 닫음
+            try (Stream<String> paths = uploadReferenceRepository.streamStoredPaths()) {
+                paths.forEach(path -> add(path, referenced));
+            }
+            try (Stream<String> paths = noticeAttachmentRepository.streamStoredPaths()) {
+                paths.forEach(path -> add(path, referenced));
+            }
+            memberRepository.findUploadPhotoUrls().forEach(url -> add(url, referenced));
+        });
+        return referenced;
+    }
+
+    // 인코딩된 값(%20 등)과 푼 값을 모두 넣어, 본문에 어떻게 적혔든 디스크의 이름과 맞춰볼 수 있게 함
+    private static void add(String url, NavigableSet<String> referenced) {
+        String path = UploadStorageService.normalize(url);
+        if (path == null) return;
+        String relative = path.substring(UploadStorageService.URL_PREFIX.length());
+        referenced.add(baseOf(relative));
+        referenced.add(baseOf(UploadStorageService.decode(relative)));
+    }
+
+    /**
+     * 파일이 참조 중인지 판단합니다. 정확히 같은 경로 외에도, 참조 값이 파일 이름 뒤에 다른 글자가 붙은 형태
+     * ("name.png)" 등)이거나 파일 이름이 공백/괄호 앞에서 잘린 형태("1700000000-lab" 와 "1700000000-lab photo (1).png")면
+     * 참조로 봅니다. 예전 색인은 이름을 공백/괄호에서 잘라 저장했으므로, 애매하면 지우지 않는 쪽을 택합니다.
+     */
+    static boolean isReferenced(String base, NavigableSet<String> referenced) {
+        if (referenced.contains(base)) return true;
+        // 파일 경로로 시작하는 참조 (뒤에 다른 글자가 붙음)
+        String after = referenced.ceiling(base);
+        if (after != null && after.startsWith(base)) return true;
+        // 공백/괄호/따옴표 등 앞에서 잘린 참조
+        for (int i = 1; i < base.length(); i++) {
+            if (TRUNCATED_AT.indexOf(base.charAt(i)) != -1 && referenced.contains(base.substring(0, i))) return true;
+        }
+        return false;
+    }
+
+    // 유예 시간이 지났으면 참조와 관계없이 지워도 되는 임시 파일인지 (uploads/ 기준 상대 경로)
+    static boolean isLeftoverTemp(String relative) {
+        return LEFTOVER_TEMP.matcher(relative).matches();
+    }
+
+    // 축소본은 원본과 같은 파일로 취급
+    private static String baseOf(String relative) {
+        Matcher m = VARIANT.matcher(relative);
+        return m.matches() ? m.group(1) + (m.group(2) == null ? "" : m.group(2)) : relative;
+    }
+
+    private final class Sweep extends SimpleFileVisitor<Path> {
+        private final boolean dryRun;
+        private final NavigableSet<String> referenced;
+        private final Instant cutoff;
+        private final long pauseNanos;
+        private long nextDeleteAt = System.nanoTime();
+        private Path root;
+
+        long scanned, recent, orphans, orphanBytes, deleted, deletedBytes, failed;
+        final List<String> sample = new ArrayList<>();
+
+        Sweep(boolean dryRun, NavigableSet<String> referenced, Instant cutoff) {
+            this.dryRun = dryRun;
+            this.referenced = referenced;
+            this.cutoff = cutoff;
+            this.pauseNanos = maxDeletesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxDeletesPerSecond : 0;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (root == null) {
+                root = dir;
+                return FileVisitResult.CONTINUE;
+            }
+            // .tmp 는 남은 spool 파일을 지우려고 들어감. .partial(청크 업로드)은 ChunkedUploadService 가 세션 만료 시 정리함
+            if (dir.getParent().equals(root) && dir.getFileName().toString().equals(TMP_DIR)) return FileVisitResult.CONTINUE;
+            return dir.getFileName().toString().startsWith(".") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (Thread.currentThread().isInterrupted()) return FileVisitResult.TERMINATE;
+            if (!attrs.isRegularFile()) return FileVisitResult.CONTINUE;
+            String relative = root.relativize(file).toString().replace('\\', '/');
+            // 임시 파일은 참조될 일이 없으므로 수정 시각만 봄 (작성 중인 파일은 유예 시간 안이라 남음)
+            boolean temp = isLeftoverTemp(relative);
+            if (!temp && (relative.startsWith(TMP_DIR + "/") || file.getFileName().toString().startsWith("."))) {
+                return FileVisitResult.CONTINUE;
+            }
+            scanned++;
+            String base = baseOf(relative);
+            if (!temp && isReferenced(base, referenced)) return FileVisitResult.CONTINUE;
+            if (attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                recent++;
+                return FileVisitResult.CONTINUE;
+            }
+            orphans++;
+            orphanBytes += attrs.size();
+            if (dryRun) {
+                addSample(relative);
+                return FileVisitResult.CONTINUE;
+            }
+            throttle();
+            if (temp ? deleteFile(file) : delete(file, base)) {
+                deleted++;
+                deletedBytes += attrs.size();
+                addSample(relative);
+                meterRegistry.counter("upload_gc.deleted_files").increment();
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            // 순회 중 다른 작업(삭제 대기열 등)이 지운 파일
+            if (!(e instanceof NoSuchFileException)) logger.warn("업로드 파일 확인 실패: {}", file);
+            return FileVisitResult.CONTINUE;
+        }
+
+        private boolean delete(Path file, String base) {
+            Optional<String> hash = UploadStorageService.blobHash(UploadStorageService.URL_PREFIX + base);
+            if (hash.isPresent()) {
+                // mark 이후 저장된 글이 참조를 올렸으면 행이 남으므로 지우지 않음
+                Boolean unreferenced = new TransactionTemplate(transactionManager).execute(status -> {
+                    storedBlobRepository.deleteUnreferenced(hash.get(), cutoff);
+                    return !storedBlobRepository.existsById(hash.get());
+                });
+                if (!Boolean.TRUE.equals(unreferenced)) return false;
+            }
+            return deleteFile(file);
+        }
+
+        private boolean deleteFile(Path file) {
+            try {
+                // 그 사이 같은 내용이 다시 업로드되었으면(수정 시각 갱신) 남김
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) return false;
+                return Files.deleteIfExists(file);
+            } catch (IOException e) {
+                failed++;
+                logger.warn("업로드 파일 정리 실패: {} ({})", file, e.getMessage());
+                return false;
+            }
+        }
+
+        private void throttle() {
+            if (pauseNanos == 0) return;
+            long wait = nextDeleteAt - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            nextDeleteAt = Math.max(nextDeleteAt, System.nanoTime()) + pauseNanos;
+        }
+
+        private void addSample(String relative) {
+            if (sample.size() < SAMPLE_LIMIT) sample.add(UploadStorageService.URL_PREFIX + relative);
+        }
+    }
+}
+
+// 업로드 폴더 정리 작업입니다. 참조 중인 파일을 모은 뒤(mark) 참조되지 않는 오래된 파일을 천천히 지웁니다(sweep).
@@ -0,0 +1,223 @@
+package com.lab.service;
+
+import com.lab.domain.AppMeta;
+import com.lab.domain.Member;
+import com.lab.domain.NoticeAttachment;
+import com.lab.domain.StoredBlob;
+import com.lab.domain.UploadReference;
+import com.lab.repository.AppMetaRepository;
+import com.lab.repository.MemberRepository;
+import com.lab.repository.NoticeAttachmentRepository;
+import com.lab.repository.StoredBlobRepository;
+import com.lab.repository.UploadReferenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class UploadReferenceService {
+    // 기존 글의 참조를 색인에 채웠는지 (app_meta). 채우기 전에는 색인만으로 업로드 정리를 하지 않음
+    // 1: 최초 백필, 2: 공백/괄호가 든 파일 이름을 잘라 저장하던 색인을 다시 맞춤
+    public static final String BACKFILL_KEY = "upload_reference.version";
+    public static final int BACKFILL_VERSION = 2;
+
+    // markdown 링크/이미지의 대상 시작: [텍스트](대상) / ![텍스트](대상)
+    private static final Pattern MARKDOWN_LINK = Pattern.compile("\\]\\(");
+    // markdown 대상 뒤의 제목: (대상 "제목")
+    private static final Pattern MARKDOWN_TITLE = Pattern.compile("\\s+(?:\"[^\"]*\"|'[^']*')$");
+    // HTML 속성 값 전체 (따옴표 안의 공백/괄호 포함)
+    private static final Pattern HTML_ATTRIBUTE = Pattern.compile(
+            "(?i)\\b(?:src|href)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'>]+))");
+    // 위 문법 밖에 그냥 적힌 주소. 경계가 없으므로 공백/괄호에서 끊음
+    private static final Pattern BARE_URL = Pattern.compile("/uploads/[^\\s()\\[\\]\"'<>?#]+");
+
+    private final UploadReferenceRepository uploadReferenceRepository;
+    private final NoticeAttachmentRepository noticeAttachmentRepository;
+    private final MemberRepository memberRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final AppMetaRepository appMetaRepository;
+    private final UploadStorageService uploadStorageService;
+
+    public record Usage(String storedPath, String blobHash, Integer refCount, boolean fileExists, List<Ref> references) {}
+
+    // type: NOTICE, PROJECT (본문/설명), NOTICE_ATTACHMENT (첨부, ownerId 는 공지 ID), MEMBER_PHOTO
+    public record Ref(String type, Long ownerId, Instant since) {}
+
+    /**
+     * 본문에 들어간 업로드 경로(/uploads/...)를 모두 찾습니다. markdown 링크는 닫는 ')' 까지(이름 안의 짝이 맞는 괄호 포함),
+     * HTML src/href 는 속성 값 전체를 대상으로 하므로 "1700000000-lab photo (1).png" 같은 이름도 잘리지 않습니다.
+     * 절대 URL/쿼리/앵커는 정리된 경로로 바뀌고, %20 등은 풀어서 디스크의 파일 이름과 같게 만듭니다.
+     */
+    public static Set<String> extract(String text) {
+        Set<String> paths = new LinkedHashSet<>();
+        if (text == null || !text.contains(UploadStorageService.URL_PREFIX)) return paths;
+        // 찾은 링크 대상은 지워두고, 남은 부분에서 그냥 적힌 주소를 찾음 (같은 링크를 잘린 형태로 다시 잡지 않도록)
+        StringBuilder rest = new StringBuilder(text);
+
+        Matcher link = MARKDOWN_LINK.matcher(text);
+        while (link.find()) {
+            int start = link.end();
+            int end = markdownTargetEnd(text, start);
+            if (end == -1) continue;
+            String target = text.substring(start, end).trim();
+            if (target.startsWith("<") && target.endsWith(">")) {
+                target = target.substring(1, target.length() - 1);
+            } else {
+                target = MARKDOWN_TITLE.matcher(target).replaceFirst("");
+            }
+            add(target, paths);
+            blank(rest, start, end);
+        }
+
+        Matcher attribute = HTML_ATTRIBUTE.matcher(text);
+        while (attribute.find()) {
+            for (int group = 1; group <= 3; group++) {
+                if (attribute.group(group) == null) continue;
+                add(attribute.group(group), paths);
+                blank(rest, attribute.start(group), attribute.end(group));
+            }
+        }
+
+        Matcher bare = BARE_URL.matcher(rest);
+        while (bare.find()) {
+            add(bare.group(), paths);
+        }
+        return paths;
+    }
+
+    // '(' 바로 뒤부터 짝이 맞지 않는 ')' 까지. 줄이 끝나도록 닫히지 않으면 첫 ')' 까지, 그것도 없으면 -1
+    private static int markdownTargetEnd(String text, int start) {
+        int depth = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') break;
+            if (c == '\\') {
+                i++;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) return i;
+                depth--;
+            }
+        }
+        int close = text.indexOf(')', start);
+        int newline = text.indexOf('\n', start);
+        return close != -1 && (newline == -1 || close < newline) ? close : -1;
+    }
+
+    private static void add(String target, Set<String> paths) {
+        String path = UploadStorageService.normalize(target.trim());
+        if (path == null) return;
+        path = UploadStorageService.decode(path);
+        if (path.length() <= UploadReference.MAX_PATH_LENGTH) paths.add(path);
+    }
+
+    private static void blank(StringBuilder text, int start, int end) {
+        for (int i = start; i < end; i++) text.setCharAt(i, ' ');
+    }
+
+    /**
+     * 글의 참조 목록을 본문 기준으로 맞춥니다. 새로 들어간 파일은 참조 수를 올리고, 빠진 파일은 해제합니다.
+     * 예전 방식 파일(uploads/ 바로 아래)은 참조 수가 없으므로 해제하지 않고 업로드 정리에 맡깁니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sync(UploadReference.OwnerType type, Long ownerId, String text) {
+        Set<String> after = extract(text);
+        Set<String> before = new LinkedHashSet<>(uploadReferenceRepository.findPathsByOwner(type, ownerId));
+
+        List<String> removed = before.stream().filter(p -> !after.contains(p)).toList();
+        if (!removed.isEmpty()) {
+            uploadReferenceRepository.deleteByOwnerAndPaths(type, ownerId, removed);
+            removed.forEach(this::releaseBlob);
+        }
+        List<UploadReference> added = new ArrayList<>();
+        for (String path : after) {
+            if (before.contains(path)) continue;
+            added.add(new UploadReference(type, ownerId, path));
+            uploadStorageService.retain(path);
+        }
+        uploadReferenceRepository.saveAll(added);
+    }
+
+    // 글 삭제: 참조 목록을 지우고 참조를 해제
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clear(UploadReference.OwnerType type, Long ownerId) {
+        sync(type, ownerId, null);
+    }
+
+    /**
+     * 백필: 아직 참조 목록이 없는 기존 글의 목록을 채웁니다. alreadyCounted 는 이전 방식으로 이미 참조 수를 올린 경로이며,
+     * 나머지만 참조 수를 올려 색인과 참조 수가 일치하게 합니다. 이미 목록이 있으면(백필 전에 수정된 글) 건너뜁니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int backfill(UploadReference.OwnerType type, Long ownerId, String text, Set<String> alreadyCounted) {
+        Set<String> paths = extract(text);
+        if (paths.isEmpty() || uploadReferenceRepository.existsByOwnerTypeAndOwnerId(type, ownerId)) return 0;
+        List<UploadReference> rows = new ArrayList<>();
+        for (String path : paths) {
+            rows.add(new UploadReference(type, ownerId, path));
+            if (!alreadyCounted.contains(path)) uploadStorageService.retain(path);
+        }
+        uploadReferenceRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    // 기존 글의 참조 목록을 모두 채웠으면 true
+    @Transactional(readOnly = true)
+    public boolean isReady() {
+        return appMetaRepository.findById(BACKFILL_KEY)
+                .map(AppMeta::getMetaValue)
+                .map(v -> v.trim().equals(String.valueOf(BACKFILL_VERSION)))
+                .orElse(false);
+    }
+
+    /**
+     * 파일 하나를 어디에서 쓰는지 조회합니다 (본문/설명, 첨부, 프로필 사진).
+     */
+    @Transactional(readOnly = true)
+    public Usage usage(String url) {
+        String path = UploadStorageService.decode(UploadStorageService.normalize(url));
+        if (path == null) {
+            throw new IllegalArgumentException("업로드 파일 경로가 아닙니다: " + url);
+        }
+        List<Ref> refs = new ArrayList<>();
+        for (UploadReference r : uploadReferenceRepository.findByStoredPathOrderByIdAsc(path)) {
+            refs.add(new Ref(r.getOwnerType().name(), r.getOwnerId(), r.getCreatedAt()));
+        }
+        for (NoticeAttachment a : noticeAttachmentRepository.findByStoredPath(path)) {
+            refs.add(new Ref("NOTICE_ATTACHMENT", a.getNotice().getId(), a.getCreatedAt()));
+        }
+        for (Member m : memberRepository.findByPhotoPath(path)) {
+            if (path.equals(UploadStorageService.normalize(m.getPhotoUrl()))) {
+                refs.add(new Ref("MEMBER_PHOTO", m.getId(), null));
+            }
+        }
+        String hash = UploadStorageService.blobHash(path).orElse(null);
+        Integer refCount = hash == null ? null
+                : storedBlobRepository.findById(hash).map(StoredBlob::getRefCount).orElse(null);
+        boolean exists;
+        try {
+            exists = Files.isRegularFile(uploadStorageService.resolve(path));
+        } catch (IllegalArgumentException e) {
+            exists = false;
+        }
+        return new Usage(path, hash, refCount, exists, refs);
+    }
+
+    private void releaseBlob(String path) {
+        if (UploadStorageService.blobHash(path).isPresent()) uploadStorageService.release(path);
+    }
+}
+
+// 업로드 참조 색인 서비스입니다. 글을 저장할 때 본문을 한 번만 훑어 참조 목록과 참조 수를 함께 맞춥니다.
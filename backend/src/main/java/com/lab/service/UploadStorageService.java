@@ -0,0 +1,234 @@
+package com.lab.service;
+
+import com.lab.repository.StoredBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class UploadStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(UploadStorageService.class);
+
+    public static final String URL_PREFIX = "/uploads/";
+    static final Path ROOT = Paths.get("uploads");
+    private static final Path TMP_DIR = ROOT.resolve(".tmp");
+
+    // /uploads/ab/cd/<sha256>[.ext]
+    private static final Pattern BLOB_PATH = Pattern.compile("^/uploads/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})(\\.[a-z0-9]{1,10})?$");
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final FileDeletionQueue fileDeletionQueue;
+
+    // 업로드 후 아직 글에 저장되지 않은 파일을 지우지 않는 시간 (업로드 폴더 정리와 같은 값)
+    @Value("${upload-gc.grace-hours:24}")
+    private long unclaimedGraceHours;
+
+    public record StoredFile(String storedPath, String hash, long sizeBytes, boolean created) {}
+
+    /**
+     * 스트림을 임시 파일로 쓰면서 SHA-256 을 계산하고, ab/cd/&lt;hash&gt; 위치로 옮깁니다.
+     * 같은 내용이 이미 있으면 새로 저장하지 않고 기존 파일을 그대로 사용합니다.
+     * 참조 수는 올리지 않으므로 참조하는 쪽에서 {@link #retain(String)} 을 호출해야 합니다.
+     */
+    @Transactional
+    public StoredFile store(InputStream in, String originalName) throws IOException {
+        TempFile temp = spool(in);
+        try {
+            return adopt(temp.path(), temp.hash(), temp.sizeBytes(), originalName);
+        } finally {
+            Files.deleteIfExists(temp.path());
+        }
+    }
+
+    public record TempFile(Path path, String hash, long sizeBytes) {}
+
+    /**
+     * 스트림을 uploads/.tmp 아래 임시 파일로 쓰면서 SHA-256 과 크기를 계산합니다(DB 작업 없음).
+     * {@link #adopt} 로 옮기지 않은 임시 파일은 호출 측에서 지워야 합니다.
+     */
+    public TempFile spool(InputStream in) throws IOException {
+        Files.createDirectories(TMP_DIR);
+        Path temp = Files.createTempFile(TMP_DIR, "up-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream din = new DigestInputStream(in, digest)) {
+                size = Files.copy(din, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new TempFile(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * 이미 해시를 알고 있는 파일을 blob 위치로 옮깁니다(복사 없이 이동).
+     * 같은 내용이 이미 등록되어 있으면 확장자가 달라도 등록된 경로 하나를 그대로 사용합니다(파일 하나에 참조 수 하나).
+     * 돌려준 경로는 참조 수가 0이어도 유예 시간 동안 지우지 않으므로, 글 저장 전에 다른 글에서 해제되어도 남아 있습니다.
+     */
+    @Transactional
+    public StoredFile adopt(Path source, String hash, long size, String originalName) throws IOException {
+        String relative = storedBlobRepository.findStoredPath(hash)
+                .map(path -> path.substring(URL_PREFIX.length()))
+                .orElse(hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extensionOf(originalName));
+        Path target = ROOT.resolve(relative);
+        boolean created = false;
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                created = true;
+            } catch (FileAlreadyExistsException ignored) {
+                // 동시에 같은 내용이 저장된 경우: 기존 파일 사용
+            }
+        }
+        if (!created) {
+            // 기존 파일 재사용: 수정 시각을 갱신해 삭제 대기열에 이미 올라간 파일이 지워지지 않게 함
+            try {
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } catch (IOException e) {
+                logger.warn("업로드 파일 시각 갱신 실패: {}", relative);
+            }
+        }
+        String storedPath = URL_PREFIX + relative;
+        storedBlobRepository.insertIfAbsent(hash, storedPath, size, Instant.now());
+        return new StoredFile(storedPath, hash, size, created);
+    }
+
+    /**
+     * 롤백된 트랜잭션에서 새로 만든 blob 파일을 지웁니다. 그 사이 다른 요청이 같은 내용을 등록했으면(행이 있으면) 남겨둡니다.
+     * 트랜잭션이 끝난 뒤(afterCompletion) 호출합니다.
+     */
+    public void discardIfOrphaned(StoredFile stored) {
+        if (!stored.created() || storedBlobRepository.existsById(stored.hash())) return;
+        try {
+            Files.deleteIfExists(resolve(stored.storedPath()));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("롤백된 업로드 파일 삭제 실패: {}", stored.storedPath());
+        }
+    }
+
+    @Transactional
+    public void retain(String storedPath) {
+        blobHash(storedPath).ifPresent(storedBlobRepository::incrementRefCount);
+    }
+
+    /**
+     * 참조를 하나 해제합니다. blob 은 참조 수를 줄여 0이 되면 blob 기록을 지우고 파일을 삭제 대기열에 올립니다
+     * (유예 시간 안에 업로드 응답으로 나간 blob 은 아직 글에 붙기 전일 수 있어 남겨두고 업로드 폴더 정리에 맡김).
+     * 예전 방식(uploads/ 바로 아래) 파일은 참조 수가 없으므로 항상 대기열에 올립니다.
+     * 대기열은 커밋 후 {@link FileDeletionQueue} 가 처리하며, 그때 다른 글이 아직 쓰고 있는 파일은 지우지 않습니다.
+     */
+    @Transactional
+    public void release(String storedPath) {
+        String path = normalize(storedPath);
+        if (path == null) return;
+        Optional<String> hash = blobHash(path);
+        if (hash.isPresent()) {
+            storedBlobRepository.decrementRefCount(hash.get());
+            Instant issuedBefore = Instant.now().minus(Duration.ofHours(unclaimedGraceHours));
+            if (storedBlobRepository.deleteUnreferenced(hash.get(), issuedBefore) == 0) return;
+        }
+        fileDeletionQueue.enqueue(path, hash.orElse(null));
+    }
+
+    /**
+     * 저장 경로(/uploads/... 또는 절대 URL)를 실제 파일 경로로 변환합니다.
+     * uploads 폴더 밖을 가리키면 IllegalArgumentException 을 던집니다.
+     */
+    public Path resolve(String storedPath) {
+        return toFile(storedPath);
+    }
+
+    static Path toFile(String storedPath) {
+        String path = normalize(storedPath);
+        String name = path == null ? storedPath : path.substring(URL_PREFIX.length());
+        Path root = ROOT.toAbsolutePath().normalize();
+        Path file = root.resolve(name).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("잘못된 파일 경로입니다.");
+        }
+        return file;
+    }
+
+    /**
+     * 절대 URL(http://host/uploads/...)이나 쿼리/앵커가 붙은 경로를 /uploads/... 형태로 정리합니다.
+     */
+    public static String normalize(String url) {
+        if (url == null) return null;
+        int idx = url.indexOf(URL_PREFIX);
+        if (idx == -1) return null;
+        String path = url.substring(idx);
+        int cut = path.length();
+        int q = path.indexOf('?');
+        if (q != -1) cut = Math.min(cut, q);
+        int h = path.indexOf('#');
+        if (h != -1) cut = Math.min(cut, h);
+        path = path.substring(0, cut);
+        return path.length() > URL_PREFIX.length() ? path : null;
+    }
+
+    /**
+     * 퍼센트 인코딩(%20, %ED%95%9C 등)을 풀어 디스크의 파일 이름과 같게 만듭니다. '+' 는 그대로 두며,
+     * 형식이 잘못되면 원래 값을 돌려줍니다.
+     */
+    public static String decode(String path) {
+        if (path == null || path.indexOf('%') == -1) return path;
+        try {
+            return URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return path;
+        }
+    }
+
+    public static Optional<String> blobHash(String storedPath) {
+        String path = normalize(storedPath);
+        if (path == null) return Optional.empty();
+        Matcher m = BLOB_PATH.matcher(path);
+        return m.matches() ? Optional.of(m.group(1)) : Optional.empty();
+    }
+
+    private static String extensionOf(String originalName) {
+        if (originalName == null) return "";
+        int dot = originalName.lastIndexOf('.');
+        if (dot == -1 || dot == originalName.length() - 1) return "";
+        String ext = originalName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ext.matches("[a-z0-9]{1,10}") ? "." + ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
+
+// 업로드 파일 저장소입니다. SHA-256 내용 주소(ab/cd/해시)로 한 번만 저장하고 참조 수로 정리합니다.
@@ -0,0 +1,85 @@
+package com.lab.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class VersionedCache {
+    public static final String LAB_INFO = "labInfo";
+    public static final String MEMBER_ROSTER = "memberRoster";
+
+    private static final String KEY = "all";
+
+    private final CacheManager cacheManager;
+
+    // 재시작하면 버전이 0부터 다시 시작하므로 ETag 에 기동 시각을 붙여 이전 ETag 와 겹치지 않게 함
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // value 와 그 값을 읽기 시작할 때의 버전(ETag)
+    public record Entry<T>(long version, String etag, T value) {}
+
+    /**
+     * 캐시된 값을 돌려주고, 없거나 그 사이 무효화되었으면 loader 로 다시 읽어 저장합니다.
+     * 읽기 전에 버전을 먼저 확인하므로, 변경과 겹쳐 읽은 이전 값은 이전 버전으로 저장되어 다음 조회 때 버려집니다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> get(String name, Supplier<T> loader) {
+        long version = counter(name).get();
+        Cache cache = cache(name);
+        Entry<T> hit = cache.get(KEY, Entry.class);
+        if (hit != null && hit.version() == version) {
+            return hit;
+        }
+        Entry<T> loaded = new Entry<>(version, "\"" + bootId + "-" + version + "\"", loader.get());
+        cache.put(KEY, loaded);
+        return loaded;
+    }
+
+    /**
+     * 캐시를 무효화합니다. 트랜잭션 안이면 커밋된 뒤에 무효화하여, 커밋 전 값이 새 버전으로 다시 캐시되지 않게 합니다.
+     */
+    public void evict(String... names) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(names);
+                }
+            });
+        } else {
+            evictNow(names);
+        }
+    }
+
+    private void evictNow(String... names) {
+        for (String name : names) {
+            counter(name).incrementAndGet();
+            cache(name).evict(KEY);
+        }
+    }
+
+    private AtomicLong counter(String name) {
+        return versions.computeIfAbsent(name, k -> new AtomicLong());
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("캐시 설정이 없습니다: " + name);
+        }
+        return cache;
+    }
+}
+
+// 실험실 정보/구성원 목록처럼 자주 읽고 드물게 바뀌는 데이터의 캐시입니다. 버전을 ETag 로도 사용합니다.
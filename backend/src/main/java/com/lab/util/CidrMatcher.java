@@ -0,0 +1,111 @@
+package com.lab.util;
+
+public final class CidrMatcher {
+    // 비트 단위 프리픽스 트라이 (IPv4/IPv6 별도). 생성 후에는 읽기 전용
+    private static final class Node {
+        Node zero;
+        Node one;
+        boolean terminal;
+    }
+
+    private final Node v4 = new Node();
+    private final Node v6 = new Node();
+    private final boolean empty;
+
+    private CidrMatcher(String spec) {
+        boolean any = false;
+        if (spec != null) {
+            for (String entry : spec.split(",")) {
+                String cidr = entry.trim();
+                if (cidr.isEmpty()) continue;
+                add(cidr);
+                any = true;
+            }
+        }
+        this.empty = !any;
+    }
+
+    /**
+     * "10.0.0.0/8,192.168.0.11,fc00::/7" 형식의 목록으로 매처를 만듭니다.
+     * 프리픽스가 없으면 단일 주소(/32, /128)로 취급합니다. 형식이 잘못되면 IllegalArgumentException.
+     */
+    public static CidrMatcher parse(String spec) {
+        return new CidrMatcher(spec);
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean matches(String ip) {
+        return matches(IpAddresses.parse(ip));
+    }
+
+    public boolean matches(byte[] addr) {
+        if (addr == null) return false;
+        Node node = addr.length == 4 ? v4 : v6;
+        int bits = addr.length * 8;
+        for (int i = 0; ; i++) {
+            if (node.terminal) return true;
+            if (i == bits) return false;
+            node = bit(addr, i) == 0 ? node.zero : node.one;
+            if (node == null) return false;
+        }
+    }
+
+    /**
+     * 두 목록에 함께 속하는 주소가 하나라도 있으면 true.
+     */
+    public boolean overlaps(CidrMatcher other) {
+        return overlaps(v4, other.v4) || overlaps(v6, other.v6);
+    }
+
+    // 같은 프리픽스의 노드가 양쪽에 있을 때, 한쪽이 대역의 끝이면 다른 쪽 대역은 그 안에 있음
+    private static boolean overlaps(Node a, Node b) {
+        if (a == null || b == null || isLeafless(a) || isLeafless(b)) return false;
+        if (a.terminal || b.terminal) return true;
+        return overlaps(a.zero, b.zero) || overlaps(a.one, b.one);
+    }
+
+    // 항목이 없는 루트 (빈 목록)
+    private static boolean isLeafless(Node node) {
+        return !node.terminal && node.zero == null && node.one == null;
+    }
+
+    private void add(String cidr) {
+        int slash = cidr.indexOf('/');
+        byte[] addr = IpAddresses.parse(slash == -1 ? cidr : cidr.substring(0, slash));
+        if (addr == null) {
+            throw new IllegalArgumentException("잘못된 IP/CIDR 형식입니다: " + cidr);
+        }
+        int bits = addr.length * 8;
+        int prefix = bits;
+        if (slash != -1) {
+            try {
+                prefix = Integer.parseInt(cidr.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                prefix = -1;
+            }
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("잘못된 IP/CIDR 형식입니다: " + cidr);
+            }
+        }
+        Node node = addr.length == 4 ? v4 : v6;
+        for (int i = 0; i < prefix && !node.terminal; i++) {
+            if (bit(addr, i) == 0) {
+                if (node.zero == null) node.zero = new Node();
+                node = node.zero;
+            } else {
+                if (node.one == null) node.one = new Node();
+                node = node.one;
+            }
+        }
+        node.terminal = true;
+    }
+
+    private static int bit(byte[] addr, int index) {
+        return (addr[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+}
+
+// CIDR 대역 매처입니다. 설정 값으로 한 번 만들어 두고 요청마다 비트 단위로 조회합니다.
@@ -0,0 +1,128 @@
+package com.lab.util;
+
+public final class IpAddresses {
+    // 파싱할 수 없는 주소가 함께 쓰는 키
+    public static final long UNKNOWN_KEY = -1L;
+
+    private IpAddresses() {}
+
+    /**
+     * IPv4(4바이트) / IPv6(16바이트) 리터럴을 DNS 조회 없이 파싱합니다.
+     * [..] 괄호와 %zone 은 무시하고, IPv4-mapped IPv6(::ffff:a.b.c.d)는 4바이트로 돌려줍니다.
+     * 주소 형식이 아니면 null.
+     */
+    public static byte[] parse(String text) {
+        if (text == null) return null;
+        String s = text.trim();
+        if (s.startsWith("[") && s.endsWith("]")) s = s.substring(1, s.length() - 1);
+        int zone = s.indexOf('%');
+        if (zone != -1) s = s.substring(0, zone);
+        if (s.isEmpty()) return null;
+        if (s.indexOf(':') == -1) return parseIpv4(s);
+        byte[] v6 = parseIpv6(s);
+        if (v6 != null && isIpv4Mapped(v6)) {
+            return new byte[]{v6[12], v6[13], v6[14], v6[15]};
+        }
+        return v6;
+    }
+
+    /**
+     * 요청 제한용 정수 키. IPv4 는 32비트 주소 그대로(상위 32비트 0),
+     * IPv6 는 /64 프리픽스(한 가입자가 보통 /64 를 통째로 받으므로 주소를 바꿔가며 우회하는 것을 막음).
+     * 상위 32비트가 0인 IPv6 대역(::/32)은 공인 주소로 쓰이지 않아 IPv4 키와 겹치지 않습니다.
+     */
+    public static long rateLimitKey(String text) {
+        return rateLimitKey(parse(text));
+    }
+
+    public static long rateLimitKey(byte[] addr) {
+        if (addr == null) return UNKNOWN_KEY;
+        if (addr.length == 4) {
+            return ((addr[0] & 0xffL) << 24) | ((addr[1] & 0xffL) << 16) | ((addr[2] & 0xffL) << 8) | (addr[3] & 0xffL);
+        }
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) prefix = (prefix << 8) | (addr[i] & 0xffL);
+        return prefix;
+    }
+
+    private static byte[] parseIpv4(String s) {
+        byte[] out = new byte[4];
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= s.length(); i++) {
+            char c = i == s.length() ? '.' : s.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || part == 4) return null;
+                out[part++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) return null;
+            } else {
+                return null;
+            }
+        }
+        return part == 4 ? out : null;
+    }
+
+    private static byte[] parseIpv6(String s) {
+        int gap = s.indexOf("::");
+        if (gap != -1 && s.indexOf("::", gap + 1) != -1) return null;
+        int[] head = groups(gap == -1 ? s : s.substring(0, gap), gap == -1);
+        int[] tail = gap == -1 ? new int[0] : groups(s.substring(gap + 2), true);
+        if (head == null || tail == null) return null;
+        int total = head.length + tail.length;
+        if (gap == -1 ? total != 8 : total > 7) return null;
+
+        byte[] out = new byte[16];
+        for (int i = 0; i < head.length; i++) {
+            out[i * 2] = (byte) (head[i] >> 8);
+            out[i * 2 + 1] = (byte) head[i];
+        }
+        int offset = 8 - tail.length;
+        for (int i = 0; i < tail.length; i++) {
+            out[(offset + i) * 2] = (byte) (tail[i] >> 8);
+            out[(offset + i) * 2 + 1] = (byte) tail[i];
+        }
+        return out;
+    }
+
+    // "a:b:c" → 16비트 그룹 배열. 마지막 그룹에는 IPv4 표기(2그룹)를 허용
+    private static int[] groups(String part, boolean allowIpv4Suffix) {
+        if (part.isEmpty()) return new int[0];
+        String[] tokens = part.split(":", -1);
+        int[] out = new int[tokens.length + 1];
+        int n = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            String t = tokens[i];
+            if (t.indexOf('.') != -1) {
+                if (!allowIpv4Suffix || i != tokens.length - 1) return null;
+                byte[] v4 = parseIpv4(t);
+                if (v4 == null) return null;
+                out[n++] = ((v4[0] & 0xff) << 8) | (v4[1] & 0xff);
+                out[n++] = ((v4[2] & 0xff) << 8) | (v4[3] & 0xff);
+                continue;
+            }
+            if (t.isEmpty() || t.length() > 4) return null;
+            int value = 0;
+            for (int j = 0; j < t.length(); j++) {
+                int d = Character.digit(t.charAt(j), 16);
+                if (d == -1) return null;
+                value = (value << 4) | d;
+            }
+            out[n++] = value;
+        }
+        return java.util.Arrays.copyOf(out, n);
+    }
+
+    private static boolean isIpv4Mapped(byte[] v6) {
+        for (int i = 0; i < 10; i++) {
+            if (v6[i] != 0) return false;
+        }
+        return v6[10] == (byte) 0xff && v6[11] == (byte) 0xff;
+    }
+}
+
+// IP 주소 리터럴 파싱 유틸리티입니다. DNS 조회 없이 IPv4/IPv6 를 바이트/정수 키로 변환합니다.
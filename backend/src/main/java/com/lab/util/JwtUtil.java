@@ -1,6 +1,7 @@
 package com.lab.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -12,6 +13,8 @@ import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
@@ -21,6 +24,9 @@ public class JwtUtil {
     
     @Value("${jwt.expiration:86400000}") // 24시간
     private Long expiration;
+
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
     
     @PostConstruct
     public void validateSecret() {
@@ -42,11 +48,20 @@ public class JwtUtil {
                 break;
             }
         }
+        initKeys();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // 시작 시 한 번만 만드는 서명 키/파서 (요청마다 재생성하지 않음)
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // 이미 검증한 토큰 → claims (토큰 만료 시각까지만 유효)
+    private record Verified(Claims claims, long expiresAt) {}
+    private final Map<String, Verified> verifiedCache = new ConcurrentHashMap<>();
+
+    private void initKeys() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(String loginId, String clientIp) {
@@ -58,52 +73,65 @@ public class JwtUtil {
                 .claim("ip", clientIp != null ? clientIp : "")
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * 토큰을 한 번 파싱/서명 검증하고 claims 를 돌려줍니다. 유효하지 않으면 null.
+     * 검증된 토큰은 만료 시각까지 캐시하여 같은 토큰의 다음 요청에서는 서명 검증을 생략합니다.
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isEmpty()) return null;
+        long now = System.currentTimeMillis();
+        Verified cached = verifiedCache.get(token);
+        if (cached != null) {
+            if (cached.expiresAt() > now) return cached.claims();
+            verifiedCache.remove(token);
+        }
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (Exception e) {
+            // 토큰 검증 실패 로그 (보안: 상세 정보는 로그에만 기록)
+            logger.warn("JWT 토큰 검증 실패: {}", e.getMessage());
+            return null;
+        }
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : now + expiration;
+        cache(token, claims, expiresAt, now);
+        return claims;
+    }
+
+    private void cache(String token, Claims claims, long expiresAt, long now) {
+        if (verifiedCache.size() >= verifiedCacheSize) {
+            verifiedCache.values().removeIf(v -> v.expiresAt() <= now);
+            if (verifiedCache.size() >= verifiedCacheSize) return; // 가득 차면 캐시하지 않음 (검증은 정상 수행)
+        }
+        verifiedCache.put(token, new Verified(claims, expiresAt));
+    }
+
     public String getLoginIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = verify(token);
+        if (claims == null) throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
         return claims.getSubject();
     }
 
     public String getIpFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.get("ip", String.class);
-        } catch (Exception e) {
-            return null;
-        }
+        Claims claims = verify(token);
+        return claims == null ? null : claims.get("ip", String.class);
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            // 토큰 검증 실패 로그 (보안: 상세 정보는 로그에만 기록)
-            logger.warn("JWT 토큰 검증 실패: {}", e.getMessage());
-            return false;
-        }
+        return verify(token) != null;
     }
 
     public boolean validateTokenWithIp(String token, String requestIp) {
-        if (!validateToken(token)) {
+        Claims claims = verify(token);
+        if (claims == null) {
             return false;
         }
         
-        String tokenIp = getIpFromToken(token);
+        String tokenIp = claims.get("ip", String.class);
         if (tokenIp == null || tokenIp.isEmpty()) {
             // 기존 토큰(IP 없음)은 허용 (하위 호환성)
             return true;
@@ -8,10 +8,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 import org.apache.tomcat.util.http.fileupload.impl.FileSizeLimitExceededException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class ApiAdvice {
@@ -62,6 +64,21 @@ public class ApiAdvice {
                 .body(Map.of("message", "로그인 후 이용해주세요."));
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleSaturated(RejectedExecutionException e) {
+        // 전용 작업 풀(비밀번호 해시 등)이 가득 찬 경우: 잠시 후 재시도 안내
+        logger.warn("작업 대기열 포화로 요청 거절");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("message", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNoResource(NoResourceFoundException e) {
+        // 없는 업로드 파일(또는 공개하지 않는 작업 중 파일)은 서버 오류가 아니라 404
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "파일을 찾을 수 없습니다."));
+    }
+
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<Map<String, String>> handleDataAccess(DataAccessException e) {
         // 데이터베이스 예외는 민감한 정보를 숨기고 일반 메시지만 반환
@@ -0,0 +1,175 @@
+package com.lab.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class AttachmentDownloader {
+    // Tomcat sendfile 요청 속성 (DefaultServlet 과 동일한 방식)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // 작은 파일은 sendfile 보다 직접 쓰는 편이 저렴함 (Tomcat 기본값과 동일)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private record Region(long start, long end) {
+        long length() { return end - start + 1; }
+    }
+
+    /**
+     * 첨부 파일을 응답으로 전송합니다.
+     * ETag/Last-Modified 조건부 요청(304), 단일/다중 Range(206)를 처리하고
+     * 가능한 경우 Tomcat sendfile, 그 외에는 FileChannel 전송을 사용합니다.
+     */
+    public void write(Path file, String contentType, String downloadName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다.");
+        }
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String type = StringUtils.hasText(contentType) ? contentType : Files.probeContentType(file);
+        if (type == null) type = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        ContentDisposition cd = ContentDisposition.attachment()
+                .filename(downloadName, StandardCharsets.UTF_8)
+                .build();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, cd.toString());
+        response.setHeader("Content-Transfer-Encoding", "binary");
+
+        List<Region> regions = parseRanges(request, etag, lastModified, size);
+        if (regions == null) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        boolean head = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        if (regions.isEmpty()) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(type);
+            response.setContentLengthLong(size);
+            if (!head) transfer(file, new Region(0, size - 1), size, request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (regions.size() == 1) {
+            Region r = regions.get(0);
+            response.setContentType(type);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.start() + "-" + r.end() + "/" + size);
+            response.setContentLengthLong(r.length());
+            if (!head) transfer(file, r, size, request, response);
+            return;
+        }
+
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        if (head) return;
+        ServletOutputStream out = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            for (Region r : regions) {
+                out.write(("\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + type + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": bytes " + r.start() + "-" + r.end() + "/" + size + "\r\n\r\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                copy(channel, r, target);
+            }
+            out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    // 빈 목록: 전체 전송, null: 만족할 수 없는 범위(416)
+    private List<Region> parseRanges(HttpServletRequest request, String etag, long lastModified, long size) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (!StringUtils.hasText(rangeHeader) || size == 0) return List.of();
+
+        // If-Range 가 현재 버전과 다르면 Range 를 무시하고 전체를 보냄
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.hasText(ifRange)) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.equals(etag)) return List.of();
+            } else {
+                long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+                if (since == -1 || lastModified / 1000 > since / 1000) return List.of();
+            }
+        }
+
+        List<Region> regions = new ArrayList<>();
+        long total = 0;
+        try {
+            for (HttpRange range : HttpRange.parseRanges(rangeHeader)) {
+                long start = range.getRangeStart(size);
+                long end = range.getRangeEnd(size);
+                if (start >= size || end < start) return null;
+                total += end - start + 1;
+                regions.add(new Region(start, end));
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // 겹치는 범위로 파일보다 큰 응답을 만드는 요청은 거부
+        if (total > size) return null;
+        return regions;
+    }
+
+    private void transfer(Path file, Region r, long size, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (r.length() <= 0) return;
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && r.length() >= SENDFILE_MIN_SIZE) {
+            // 커널이 파일을 소켓으로 직접 전송 (사용자 공간 복사 없음)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().normalize().toString());
+            request.setAttribute(SENDFILE_START, r.start());
+            request.setAttribute(SENDFILE_END, r.end() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            copy(channel, r, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private void copy(FileChannel channel, Region r, WritableByteChannel target) throws IOException {
+        long position = r.start();
+        long remaining = r.length();
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) break;
+            position += sent;
+            remaining -= sent;
+        }
+    }
+}
+
+// 첨부 다운로드 공통 처리기입니다. Range/조건부 요청과 sendfile 전송을 지원합니다.
@@ -2,20 +2,32 @@ package com.lab.web;
 
 import com.lab.domain.Attendance;
 import com.lab.domain.Member;
+import com.lab.service.AttendanceExportService;
 import com.lab.service.AttendanceService;
 import com.lab.repository.MemberRepository;
+import com.lab.service.AttendanceStatsService;
 import com.lab.service.AuthService;
+import com.lab.service.PresenceService;
+import com.lab.util.CidrMatcher;
+import com.lab.web.dto.AttendanceSummaryDto;
+import com.lab.web.filter.ClientAddressResolver;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.YearMonth;
 import java.time.ZoneId;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/attendance")
@@ -24,51 +36,33 @@ public class AttendanceController {
     private final AttendanceService attendanceService;
     private final AuthService authService;
     private final MemberRepository memberRepository;
+    private final ClientAddressResolver clientAddressResolver;
+    private final AttendanceStatsService attendanceStatsService;
+    private final PresenceService presenceService;
+    private final AttendanceExportService attendanceExportService;
     
     @Value("${attendance.allowed-ips:}")
     private String allowedIpsConfig;
     
-    private Set<String> getAllowedIps() {
-        if (allowedIpsConfig == null || allowedIpsConfig.trim().isEmpty()) {
-            return Set.of();
-        }
-        return Arrays.stream(allowedIpsConfig.split(","))
-                .map(String::trim)
-                .filter(ip -> !ip.isEmpty())
-                .collect(Collectors.toSet());
-    }
-    
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // X-Forwarded-For는 여러 IP가 콤마로 구분될 수 있음 (첫 번째가 실제 클라이언트 IP)
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
+    // 설정 값으로 한 번만 만드는 허용 대역 매처 (단일 IP 또는 CIDR)
+    private CidrMatcher allowedNetworks;
+
+    @PostConstruct
+    void initAllowedNetworks() {
+        allowedNetworks = CidrMatcher.parse(allowedIpsConfig);
+        if (clientAddressResolver.trustsAnyOf(allowedNetworks)) {
+            throw new IllegalStateException("client-address.trusted-proxies 가 attendance.allowed-ips 와 겹칩니다. "
+                    + "리버스 프록시 주소만 신뢰하도록 설정하세요.");
         }
-        return ip;
     }
     
     private void validateAttendanceIp(HttpServletRequest request) {
-        String clientIp = getClientIp(request);
-        Set<String> allowedIps = getAllowedIps();
-        
-        if (allowedIps.isEmpty()) {
+        if (allowedNetworks.isEmpty()) {
             // 허용된 IP 목록이 없으면 검증하지 않음 (개발 환경)
             return;
         }
         
-        if (!allowedIps.contains(clientIp)) {
+        if (!allowedNetworks.matches(clientAddressResolver.resolve(request).bytes())) {
             // IP 주소는 에러 메시지에 포함하지 않음 (보안)
             throw new IllegalArgumentException("출퇴근 체크는 연구실 네트워크에서만 가능합니다.");
         }
@@ -90,6 +84,18 @@ public class AttendanceController {
         return attendanceService.checkOut(requesterMember);
     }
 
+    // 관리자 전용 재실 현황 스트림 (SSE). 연결 시 오늘 현황(snapshot) 후 check-in / check-out 이벤트를 전달
+    @GetMapping(value = "/presence/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter presenceStream(@RequestHeader(value = "X-USER", required = false) String requester,
+                                     @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                     HttpServletResponse response) {
+        Member admin = authService.getRequester(requester);
+        authService.requireAdmin(admin);
+        // nginx 가 이벤트를 버퍼링하지 않고 바로 전달하도록 함
+        response.setHeader("X-Accel-Buffering", "no");
+        return presenceService.subscribe(lastEventId);
+    }
+
     // 관리자 전용 통계 API
     @GetMapping({"/stats", "/stats/"})
     public Map<String, Object> stats(@RequestHeader(value = "X-USER", required = false) String requester,
@@ -125,6 +131,64 @@ public class AttendanceController {
                 "records", records
         );
     }
+
+    // 관리자 전용 집계 API: 구성원별 출근 일수/근무 시간/지각 횟수 (from~to, yyyy-MM, 기본값 이번 달)
+    @GetMapping("/stats/summary")
+    public AttendanceSummaryDto statsSummary(@RequestHeader(value = "X-USER", required = false) String requester,
+                                             @RequestParam(value = "from", required = false) String from,
+                                             @RequestParam(value = "to", required = false) String to) {
+        Member admin = authService.getRequester(requester);
+        authService.requireAdmin(admin);
+
+        YearMonth current = YearMonth.now(ZoneId.of("Asia/Seoul"));
+        YearMonth start = parseMonth(from, current);
+        YearMonth end = to == null ? start : parseMonth(to, current);
+        return attendanceStatsService.summarize(start, end);
+    }
+
+    // 관리자 전용 내보내기 API: from~to(yyyy-MM-dd, 기본값 이번 달 1일~오늘) 기록을 CSV/XLSX 로 바로 스트리밍
+    @GetMapping("/export")
+    public void export(@RequestHeader(value = "X-USER", required = false) String requester,
+                       @RequestParam(value = "from", required = false) String from,
+                       @RequestParam(value = "to", required = false) String to,
+                       @RequestParam(value = "format", required = false) String format,
+                       HttpServletResponse response) throws IOException {
+        Member admin = authService.getRequester(requester);
+        authService.requireAdmin(admin);
+
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        LocalDate start = parseDate(from, today.withDayOfMonth(1));
+        LocalDate end = parseDate(to, today);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("종료일이 시작일보다 빠릅니다.");
+        }
+        AttendanceExportService.Format exportFormat = AttendanceExportService.Format.of(format);
+
+        // 여기까지 검증이 끝난 뒤에만 응답을 시작 (이후 오류는 JSON 으로 바꿀 수 없음)
+        String filename = "attendance_" + start.toString().replace("-", "") + "_"
+                + end.toString().replace("-", "") + "." + exportFormat.extension;
+        response.setContentType(exportFormat.contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        response.setHeader("X-Accel-Buffering", "no");
+        attendanceExportService.export(start, end, exportFormat, response.getOutputStream());
+    }
+
+    private static LocalDate parseDate(String value, LocalDate defaultValue) {
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다. (yyyy-MM-dd)");
+        }
+    }
+
+    private static YearMonth parseMonth(String value, YearMonth defaultValue) {
+        if (value == null || value.isBlank()) return defaultValue;
+        if (!value.matches("\\d{4}-\\d{2}")) {
+            throw new IllegalArgumentException("월 형식이 올바르지 않습니다. (yyyy-MM)");
+        }
+        return YearMonth.parse(value);
+    }
 }
 
 // 출퇴근 API 컨트롤러입니다. 오늘 날짜로 출퇴근을 기록합니다.
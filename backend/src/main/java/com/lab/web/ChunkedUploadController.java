@@ -0,0 +1,79 @@
+package com.lab.web;
+
+import com.lab.domain.Member;
+import com.lab.domain.UploadSession;
+import com.lab.service.AuthService;
+import com.lab.service.ChunkedUploadService;
+import com.lab.service.ImageDerivativeService;
+import com.lab.service.UploadStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/chunked-uploads")
+@RequiredArgsConstructor
+public class ChunkedUploadController {
+    private final ChunkedUploadService chunkedUploadService;
+    private final AuthService authService;
+    private final ImageDerivativeService imageDerivativeService;
+
+    public record InitRequest(String fileName, String contentType, long size) {}
+    public record SessionDto(String uploadId, String fileName, long size, long offset) {
+        static SessionDto from(UploadSession s) {
+            return new SessionDto(s.getId(), s.getFileName(), s.getTotalSize(), s.getReceivedBytes());
+        }
+    }
+
+    // 1) 업로드 시작: 세션 생성
+    @PostMapping
+    public SessionDto init(@RequestHeader(value = "X-USER", required = false) String requester,
+                           @RequestBody InitRequest req) throws IOException {
+        Member me = authService.getRequester(requester);
+        String fileName = req.fileName() == null ? null : StringUtils.cleanPath(req.fileName());
+        UploadController.validateFileName(fileName);
+        return SessionDto.from(chunkedUploadService.init(me, fileName, req.contentType(), req.size()));
+    }
+
+    // 이어받기: 서버가 확인한 마지막 위치 조회
+    @GetMapping("/{uploadId}")
+    public SessionDto status(@RequestHeader(value = "X-USER", required = false) String requester,
+                             @PathVariable("uploadId") String uploadId) {
+        Member me = authService.getRequester(requester);
+        return SessionDto.from(chunkedUploadService.status(me, uploadId));
+    }
+
+    // 2) 청크 전송: 요청 본문(application/octet-stream)을 offset 위치에 기록
+    @PutMapping("/{uploadId}")
+    public SessionDto appendChunk(@RequestHeader(value = "X-USER", required = false) String requester,
+                                  @PathVariable("uploadId") String uploadId,
+                                  @RequestParam("offset") long offset,
+                                  @RequestHeader(value = "X-Chunk-SHA256", required = false) String checksum,
+                                  InputStream body) throws IOException {
+        Member me = authService.getRequester(requester);
+        return SessionDto.from(chunkedUploadService.appendChunk(me, uploadId, offset, checksum, body));
+    }
+
+    // 3) 완료: 저장소로 옮기고 URL 반환 (/api/upload 응답과 동일한 형식)
+    @PostMapping("/{uploadId}/complete")
+    public Map<String, String> complete(@RequestHeader(value = "X-USER", required = false) String requester,
+                                        @PathVariable("uploadId") String uploadId) throws IOException {
+        Member me = authService.getRequester(requester);
+        UploadStorageService.StoredFile stored = chunkedUploadService.complete(me, uploadId);
+        imageDerivativeService.submit(stored.storedPath());
+        return Map.of("url", UploadController.publicUrl(stored.storedPath()));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public void abort(@RequestHeader(value = "X-USER", required = false) String requester,
+                      @PathVariable("uploadId") String uploadId) throws IOException {
+        Member me = authService.getRequester(requester);
+        chunkedUploadService.abort(me, uploadId);
+    }
+}
+
+// 청크 업로드 컨트롤러입니다. 시작/청크 전송/완료 단계로 큰 파일을 이어받기 가능하게 업로드합니다.
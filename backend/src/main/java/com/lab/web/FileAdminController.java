@@ -0,0 +1,48 @@
+package com.lab.web;
+
+import com.lab.domain.Member;
+import com.lab.service.AuthService;
+import com.lab.service.UploadGarbageCollector;
+import com.lab.service.UploadReferenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/files/admin")
+@RequiredArgsConstructor
+public class FileAdminController {
+    private final AuthService authService;
+    private final UploadGarbageCollector uploadGarbageCollector;
+    private final UploadReferenceService uploadReferenceService;
+
+    // 파일 하나를 어디에서 쓰는지 조회 (path: /uploads/... 또는 절대 URL)
+    @GetMapping("/usage")
+    public UploadReferenceService.Usage usage(@RequestHeader(value = "X-USER", required = false) String requester,
+                                              @RequestParam("path") String path) {
+        Member admin = authService.getRequester(requester);
+        authService.requireAdmin(admin);
+        return uploadReferenceService.usage(path);
+    }
+
+    // 마지막 정리 결과 (아직 실행 전이면 204)
+    @GetMapping("/gc")
+    public ResponseEntity<UploadGarbageCollector.Report> lastGc(@RequestHeader(value = "X-USER", required = false) String requester) {
+        Member admin = authService.getRequester(requester);
+        authService.requireAdmin(admin);
+        return uploadGarbageCollector.lastReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // 지금 정리 실행. 기본은 dry run(목록만), dryRun=false 면 실제로 삭제 (실행 중이면 409)
+    @PostMapping("/gc")
+    public UploadGarbageCollector.Report runGc(@RequestHeader(value = "X-USER", required = false) String requester,
+                                               @RequestParam(value = "dryRun", defaultValue = "true") boolean dryRun) {
+        Member admin = authService.getRequester(requester);
+        authService.requireAdmin(admin);
+        return uploadGarbageCollector.run(dryRun);
+    }
+}
+
+// 업로드 파일 관리 API 입니다. 관리자만 사용할 수 있습니다.
@@ -2,7 +2,10 @@ package com.lab.web;
 
 import com.lab.domain.LabInfo;
 import com.lab.service.LabInfoService;
+import com.lab.service.VersionedCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
@@ -13,9 +16,14 @@ import java.util.Optional;
 public class LabInfoController {
     private final LabInfoService labInfoService;
 
+    // 버전 ETag: 바뀌지 않았으면 304 (no-cache 로 매번 재검증)
     @GetMapping
-    public Optional<LabInfo> getLabInfo() {
-        return labInfoService.getLabInfo();
+    public ResponseEntity<Optional<LabInfo>> getLabInfo() {
+        VersionedCache.Entry<Optional<LabInfo>> info = labInfoService.getLabInfo();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(info.etag())
+                .body(info.value());
     }
 
     @PostMapping
@@ -9,7 +9,11 @@ import com.lab.repository.NoticeRepository;
 import com.lab.repository.ProjectRepository;
 import java.util.List;
 import com.lab.service.AuthService;
+import com.lab.service.MemberPhotoService;
+import com.lab.service.VersionedCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,12 +27,20 @@ public class MemberController {
     private final ProjectRepository projectRepository;
     private final AuthService authService;
     private final PasswordEncoder passwordEncoder;
+    private final MemberPhotoService memberPhotoService;
+    private final VersionedCache versionedCache;
 
+    // 정렬된 구성원 목록은 캐시하고, 버전 ETag 로 바뀌지 않았으면 304
     @GetMapping
-    public List<MemberDto> list() {
-        return memberRepository.findAllByOrderBySortOrderAscNameAsc().stream()
-                .map(MemberDto::from)
-                .toList();
+    public ResponseEntity<List<MemberDto>> list() {
+        VersionedCache.Entry<List<MemberDto>> roster = versionedCache.get(VersionedCache.MEMBER_ROSTER,
+                () -> memberRepository.findAllByOrderBySortOrderAscNameAsc().stream()
+                        .map(MemberDto::from)
+                        .toList());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(roster.etag())
+                .body(roster.value());
     }
     // 순서 저장: 전달된 ID 배열의 순서대로 sortOrder를 10씩 부여
     @PutMapping("/admin/order")
@@ -43,9 +55,11 @@ public class MemberController {
                 Member m = opt.get();
                 m.setSortOrder(order);
                 memberRepository.save(m);
+                authService.evict(m);
             }
             order += 10;
         }
+        versionedCache.evict(VersionedCache.MEMBER_ROSTER);
     }
 
     @GetMapping("/me")
@@ -54,20 +68,24 @@ public class MemberController {
     }
 
     @PutMapping("/me")
-    public MemberDto updateProfile(@RequestHeader(value = "X-USER", required = false) String requester, @RequestBody Member payload) {
-        Member me = authService.getRequester(requester);
+    public MemberDto updateProfile(@RequestHeader(value = "X-USER", required = false) String requester, @RequestBody Member payload) throws java.io.IOException {
+        Member me = authService.getRequesterForUpdate(requester);
         me.setEmail(payload.getEmail());
         me.setPhone(payload.getPhone());
         me.setDegree(payload.getDegree());
-        me.setPhotoUrl(payload.getPhotoUrl());
-        return MemberDto.from(memberRepository.save(me));
+        // base64 사진은 파일로 저장하고 짧은 URL만 보관
+        me.setPhotoUrl(memberPhotoService.replacePhoto(me.getPhotoUrl(), payload.getPhotoUrl()));
+        Member saved = memberRepository.save(me);
+        authService.evict(saved);
+        versionedCache.evict(VersionedCache.MEMBER_ROSTER, VersionedCache.LAB_INFO);
+        return MemberDto.from(saved);
     }
 
     public record PwChange(String oldPassword, String newPassword) {}
 
     @PutMapping("/me/password")
     public void changePassword(@RequestHeader(value = "X-USER", required = false) String requester, @RequestBody PwChange body) {
-        Member me = authService.getRequester(requester);
+        Member me = authService.getRequesterForUpdate(requester);
         
         // 기존 비밀번호 검증 (BCrypt 또는 평문)
         boolean passwordValid = false;
@@ -86,6 +104,7 @@ public class MemberController {
         // 새 비밀번호 해싱
         me.setPassword(passwordEncoder.encode(body.newPassword()));
         memberRepository.save(me);
+        authService.evict(me);
     }
 
     // 관리자 전용 API
@@ -109,7 +128,9 @@ public class MemberController {
         member.setDegree(req.degree());
         member.setStudentId(req.studentId());
         member.setGraduationYear(req.graduationYear());
-        return MemberDto.from(memberRepository.save(member));
+        Member saved = memberRepository.save(member);
+        versionedCache.evict(VersionedCache.MEMBER_ROSTER);
+        return MemberDto.from(saved);
     }
 
     @PutMapping("/admin/{id:\\d+}")
@@ -153,7 +174,10 @@ public class MemberController {
         if (req.password() != null && !req.password().trim().isEmpty()) {
             member.setPassword(passwordEncoder.encode(req.password().trim())); // 비밀번호 해싱
         }
-        return MemberDto.from(memberRepository.save(member));
+        Member saved = memberRepository.save(member);
+        authService.evict(saved);
+        versionedCache.evict(VersionedCache.MEMBER_ROSTER, VersionedCache.LAB_INFO);
+        return MemberDto.from(saved);
     }
 
     @PutMapping("/admin/{id:\\d+}/password")
@@ -164,6 +188,7 @@ public class MemberController {
         Member member = memberRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("멤버를 찾을 수 없습니다."));
         member.setPassword(passwordEncoder.encode(req.newPassword())); // 비밀번호 해싱
         memberRepository.save(member);
+        authService.evict(member);
     }
 
     @DeleteMapping("/admin/{id:\\d+}")
@@ -180,7 +205,10 @@ public class MemberController {
         attendanceRepository.deleteByMemberId(id);
         noticeRepository.clearAuthorByAuthorId(id);
         projectRepository.clearCreatedBy(id);
+        memberPhotoService.releaseIfStored(member.getPhotoUrl());
         memberRepository.delete(member);
+        authService.evict(member);
+        versionedCache.evict(VersionedCache.MEMBER_ROSTER, VersionedCache.LAB_INFO);
     }
 
     public record CreateMemberRequest(String name, String loginId, String password, com.lab.domain.Role role, Boolean admin, String email, String phone, String degree, String studentId, Integer graduationYear) {}
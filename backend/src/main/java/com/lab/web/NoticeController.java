@@ -3,26 +3,29 @@ package com.lab.web;
 import com.lab.domain.Member;
 import com.lab.domain.Notice;
 import com.lab.domain.NoticeAttachment;
+import com.lab.domain.UploadReference;
 import com.lab.repository.MemberRepository;
 import com.lab.repository.NoticeAttachmentRepository;
 import com.lab.repository.NoticeRepository;
+import com.lab.service.AttachmentIngestService;
+import com.lab.service.AttachmentKeyCache;
 import com.lab.service.AuthService;
+import com.lab.service.UploadReferenceService;
+import com.lab.service.UploadStorageService;
+import com.lab.web.dto.CursorPage;
+import com.lab.web.dto.NoticeSummaryDto;
+import com.lab.web.dto.PageDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.ContentDisposition;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/notices")
@@ -32,6 +35,12 @@ public class NoticeController {
     private final NoticeAttachmentRepository noticeAttachmentRepository;
     private final MemberRepository memberRepository;
     private final AuthService authService;
+    private final AttachmentKeyCache attachmentKeyCache;
+    private final AttachmentDownloader attachmentDownloader;
+    private final UploadStorageService uploadStorageService;
+    private final AttachmentIngestService attachmentIngestService;
+    private final UploadReferenceService uploadReferenceService;
+    private final TransactionTemplate transactionTemplate;
 
     record NoticeDto(Long id, String title, String content, String category, boolean pinned) {}
     record NoticeDetailDto(Long id, String title, String content, String category, String createdAt,
@@ -40,20 +49,42 @@ public class NoticeController {
     record AuthorDto(Long id, String name, String loginId) {}
 
     @GetMapping
-    public org.springframework.data.domain.Page<Notice> list(@RequestParam(value = "category", required = false) String category,
-                                                             @RequestParam(value = "page", defaultValue = "0") int page,
-                                                             @RequestParam(value = "size", defaultValue = "10") int size) {
-        var pageable = org.springframework.data.domain.PageRequest.of(Math.max(page,0), Math.max(size,1), org.springframework.data.domain.Sort.by("createdAt").descending());
-        if (category == null || category.isBlank()) return noticeRepository.findAllByOrderByCreatedAtDesc(pageable);
-        return noticeRepository.findByCategoryOrderByCreatedAtDesc(category, pageable);
+    public PageDto<NoticeSummaryDto> list(@RequestParam(value = "category", required = false) String category,
+                                          @RequestParam(value = "page", defaultValue = "0") int page,
+                                          @RequestParam(value = "size", defaultValue = "10") int size) {
+        // 목록은 본문(LONGTEXT)/작성자 엔티티 대신 요약 컬럼만 조회 (정렬은 쿼리에 포함)
+        var pageable = org.springframework.data.domain.PageRequest.of(Math.max(page,0), Math.max(size,1));
+        String cat = (category == null || category.isBlank()) ? null : category;
+        return PageDto.of(noticeRepository.findSummaries(cat, pageable), NoticeSummaryDto::from);
+    }
+
+    // 커서 기반 목록: 첫 페이지는 cursor 없이, 다음 페이지는 응답의 next 값을 cursor 로 전달
+    // (페이지 번호 방식 list 는 관리 화면용으로 유지)
+    @GetMapping("/cursor")
+    public CursorPage<NoticeSummaryDto> listByCursor(@RequestParam(value = "category", required = false) String category,
+                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "size", defaultValue = "10") int size) {
+        int limit = Math.min(Math.max(size, 1), 100);
+        CursorPage.Position position = CursorPage.decode(cursor);
+        String cat = (category == null || category.isBlank()) ? null : category;
+        List<NoticeSummaryDto> fetched = noticeRepository.findSummariesBefore(cat,
+                        position == null ? null : position.createdAt(),
+                        position == null ? null : position.id(),
+                        org.springframework.data.domain.PageRequest.of(0, limit + 1))
+                .stream().map(NoticeSummaryDto::from).toList();
+        return CursorPage.of(fetched, limit, n -> new CursorPage.Position(n.createdAt(), n.id()));
     }
 
     @GetMapping("/{id}")
     public NoticeDetailDto get(@PathVariable("id") Long id) {
-        Notice n = noticeRepository.findById(id)
+        Notice n = noticeRepository.findDetailById(id)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                         org.springframework.http.HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다."));
-        List<NoticeAttachment> atts = noticeAttachmentRepository.findByNotice(n);
+        return toDetail(n, n.getAttachments());
+    }
+
+    // 응답은 메모리의 엔티티 상태로 만듦 (저장 직후 다시 조회하지 않음)
+    private static NoticeDetailDto toDetail(Notice n, List<NoticeAttachment> atts) {
         AuthorDto author = null;
         if (n.getAuthor() != null) {
             author = new AuthorDto(n.getAuthor().getId(), n.getAuthor().getName(), n.getAuthor().getLoginId());
@@ -80,10 +111,18 @@ public class NoticeController {
         n.setCategory((category == null || category.isBlank()) ? "NOTICE" : category);
         n.setAuthor(me);
         if (pinned != null) n.setPinned(pinned);
-        noticeRepository.save(n);
 
-        saveFiles(n, files);
-        return get(n.getId());
+        // 파일 쓰기는 트랜잭션 밖에서 먼저 (DB 커넥션을 잡은 채 디스크를 기다리지 않음), 글과 첨부 등록은 한 트랜잭션
+        List<AttachmentIngestService.Spooled> spooled = attachmentIngestService.spool(files);
+        try {
+            return transactionTemplate.execute(status -> {
+                noticeRepository.save(n);
+                uploadReferenceService.sync(UploadReference.OwnerType.NOTICE, n.getId(), n.getContent());
+                return toDetail(n, attachmentIngestService.attach(n, spooled));
+            });
+        } finally {
+            attachmentIngestService.discard(spooled);
+        }
     }
 
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -97,7 +136,18 @@ public class NoticeController {
                                   @RequestPart(value = "deleteAttachmentIds", required = false) List<Long> deleteAttachmentIds
     ) throws IOException {
         Member me = authService.getRequester(requester);
-        Notice n = noticeRepository.findById(id).orElseThrow();
+        List<AttachmentIngestService.Spooled> spooled = attachmentIngestService.spool(files);
+        try {
+            return transactionTemplate.execute(status ->
+                    applyUpdate(me, id, title, content, category, pinned, spooled, deleteAttachmentIds));
+        } finally {
+            attachmentIngestService.discard(spooled);
+        }
+    }
+
+    private NoticeDetailDto applyUpdate(Member me, Long id, String title, String content, String category, Boolean pinned,
+                                        List<AttachmentIngestService.Spooled> spooled, List<Long> deleteAttachmentIds) {
+        Notice n = noticeRepository.findDetailById(id).orElseThrow();
         boolean isAdmin = me.isAdmin();
         if (!isAdmin) {
             if (n.getAuthor() == null) {
@@ -111,21 +161,23 @@ public class NoticeController {
         if (category != null && !category.isBlank()) n.setCategory(category);
         if (pinned != null) n.setPinned(pinned);
         noticeRepository.save(n);
+        uploadReferenceService.sync(UploadReference.OwnerType.NOTICE, n.getId(), n.getContent());
 
-        if (deleteAttachmentIds != null) {
-            for (Long aid : deleteAttachmentIds) {
-                noticeAttachmentRepository.findById(aid).ifPresent(a -> {
-                    String stored = a.getStoredPath();
-                    String name = stored.startsWith("/uploads/") ? stored.substring("/uploads/".length()) : stored;
-                    try {
-                        Files.deleteIfExists(Paths.get("uploads").resolve(name));
-                    } catch (IOException ignored) {}
-                    noticeAttachmentRepository.delete(a);
-                });
+        // 이미 함께 조회한 이 글의 첨부 중에서만 삭제 (다른 글의 첨부 ID 는 무시)
+        if (deleteAttachmentIds != null && !deleteAttachmentIds.isEmpty()) {
+            java.util.Iterator<NoticeAttachment> it = n.getAttachments().iterator();
+            while (it.hasNext()) {
+                NoticeAttachment a = it.next();
+                if (!deleteAttachmentIds.contains(a.getId())) continue;
+                uploadStorageService.release(a.getStoredPath());
+                attachmentKeyCache.evict(a.getFileKey());
+                noticeAttachmentRepository.delete(a);
+                it.remove();
             }
         }
-        saveFiles(n, files);
-        return get(id);
+        List<NoticeAttachment> atts = new java.util.ArrayList<>(n.getAttachments());
+        atts.addAll(attachmentIngestService.attach(n, spooled));
+        return toDetail(n, atts);
     }
 
     // Some clients/browsers don't send multipart with PUT consistently.
@@ -164,7 +216,11 @@ public class NoticeController {
         Member me = authService.getRequester(requester);
         body.setAuthor(me);
         if (body.getCategory() == null || body.getCategory().isBlank()) body.setCategory("NOTICE");
-        return noticeRepository.save(body);
+        return transactionTemplate.execute(status -> {
+            Notice saved = noticeRepository.save(body);
+            uploadReferenceService.sync(UploadReference.OwnerType.NOTICE, saved.getId(), saved.getContent());
+            return saved;
+        });
     }
 
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -172,6 +228,10 @@ public class NoticeController {
                              @PathVariable("id") Long id,
                              @RequestBody Notice body) {
         Member me = authService.getRequester(requester);
+        return transactionTemplate.execute(status -> applyJsonUpdate(me, id, body));
+    }
+
+    private Notice applyJsonUpdate(Member me, Long id, Notice body) {
         Notice n = noticeRepository.findById(id).orElseThrow();
         boolean isAdmin2 = me.isAdmin();
         if (!isAdmin2) {
@@ -184,6 +244,7 @@ public class NoticeController {
         n.setTitle(body.getTitle());
         n.setContent(body.getContent());
         if (body.getCategory() != null && !body.getCategory().isBlank()) n.setCategory(body.getCategory());
+        uploadReferenceService.sync(UploadReference.OwnerType.NOTICE, n.getId(), n.getContent());
         return noticeRepository.save(n);
     }
 
@@ -199,6 +260,10 @@ public class NoticeController {
     public void delete(@RequestHeader(value = "X-USER", required = false) String requester,
                        @PathVariable("id") Long id) {
         Member me = authService.getRequester(requester);
+        transactionTemplate.executeWithoutResult(status -> applyDelete(me, id));
+    }
+
+    private void applyDelete(Member me, Long id) {
         Notice n = noticeRepository.findById(id).orElseThrow();
         boolean isAdmin3 = me.isAdmin();
         if (!isAdmin3) {
@@ -211,13 +276,11 @@ public class NoticeController {
         // 첨부 먼저 삭제(파일 시스템 포함)
         List<NoticeAttachment> atts = noticeAttachmentRepository.findByNotice(n);
         for (NoticeAttachment a : atts) {
-            String stored = a.getStoredPath();
-            String name = stored.startsWith("/uploads/") ? stored.substring("/uploads/".length()) : stored;
-            try {
-                Files.deleteIfExists(Paths.get("uploads").resolve(name));
-            } catch (IOException ignored) {}
+            uploadStorageService.release(a.getStoredPath());
+            attachmentKeyCache.evict(a.getFileKey());
             noticeAttachmentRepository.delete(a);
         }
+        uploadReferenceService.clear(UploadReference.OwnerType.NOTICE, n.getId());
         noticeRepository.delete(n);
     }
 
@@ -248,69 +311,30 @@ public class NoticeController {
         setPinned(requester, id, pinned);
     }
 
-    private void saveFiles(Notice notice, List<MultipartFile> files) throws IOException {
-        if (files == null || files.isEmpty()) return;
-        Path root = Paths.get("uploads");
-        if (!Files.exists(root)) Files.createDirectories(root);
-        for (MultipartFile f : files) {
-            if (f.isEmpty()) continue;
-            String clean = StringUtils.cleanPath(f.getOriginalFilename() == null ? "file" : f.getOriginalFilename());
-            String filename = System.currentTimeMillis() + "_" + clean;
-            Path target = root.resolve(filename);
-            Files.copy(f.getInputStream(), target);
-
-            NoticeAttachment a = new NoticeAttachment();
-            a.setNotice(notice);
-            a.setStoredPath("/uploads/" + filename);
-            a.setOriginalName(clean);
-            a.setContentType(f.getContentType() == null ? "application/octet-stream" : f.getContentType());
-            a.setSizeBytes(f.getSize());
-            a.setFileKey(UUID.randomUUID().toString().replace("-", ""));
-            noticeAttachmentRepository.save(a);
-        }
-    }
-
     @GetMapping("/attachments/{attachmentId}/download")
-    public ResponseEntity<InputStreamResource> download(@PathVariable("attachmentId") Long attachmentId) throws IOException {
-        NoticeAttachment a = noticeAttachmentRepository.findById(attachmentId).orElseThrow();
-        String stored = a.getStoredPath(); // e.g. /uploads/filename.ext
-        String filename = stored;
-        if (stored.startsWith("/uploads/")) filename = stored.substring("/uploads/".length());
-        Path file = Paths.get("uploads").resolve(filename);
-        String contentType = a.getContentType() == null ? Files.probeContentType(file) : a.getContentType();
-        if (contentType == null) contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-        InputStreamResource body = new InputStreamResource(Files.newInputStream(file));
-        ContentDisposition cd = ContentDisposition
-                .attachment()
-                .filename(a.getOriginalName(), java.nio.charset.StandardCharsets.UTF_8)
-                .build();
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
-                .header("Content-Transfer-Encoding", "binary")
-                .contentType(MediaType.parseMediaType(contentType))
-                .contentLength(Files.size(file))
-                .body(body);
+    public void download(@PathVariable("attachmentId") Long attachmentId,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        NoticeAttachment a = noticeAttachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다."));
+        attachmentDownloader.write(resolveStored(a.getStoredPath()), a.getContentType(), a.getOriginalName(), request, response);
     }
 
     @GetMapping("/files/download")
-    public ResponseEntity<InputStreamResource> downloadByKey(@RequestParam("fileKey") String fileKey) throws IOException {
-        NoticeAttachment a = noticeAttachmentRepository.findAll().stream()
-                .filter(x -> fileKey.equals(x.getFileKey())).findFirst().orElseThrow();
-        String stored = a.getStoredPath();
-        String filename = stored.startsWith("/uploads/") ? stored.substring("/uploads/".length()) : stored;
-        Path file = Paths.get("uploads").resolve(filename);
-        String contentType = a.getContentType() == null ? Files.probeContentType(file) : a.getContentType();
-        if (contentType == null) contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-        InputStreamResource body = new InputStreamResource(Files.newInputStream(file));
-        ContentDisposition cd = ContentDisposition
-                .attachment()
-                .filename(a.getOriginalName(), java.nio.charset.StandardCharsets.UTF_8)
-                .build();
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
-                .header("Content-Transfer-Encoding", "binary")
-                .contentType(MediaType.parseMediaType(contentType))
-                .contentLength(Files.size(file))
-                .body(body);
+    public void downloadByKey(@RequestParam("fileKey") String fileKey,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AttachmentKeyCache.AttachmentMeta a = attachmentKeyCache.findByFileKey(fileKey)
+                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다."));
+        attachmentDownloader.write(resolveStored(a.storedPath()), a.contentType(), a.originalName(), request, response);
+    }
+
+    private Path resolveStored(String stored) {
+        try {
+            return uploadStorageService.resolve(stored);
+        } catch (IllegalArgumentException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다.");
+        }
     }
-}
\ No newline at end of file
+}
@@ -22,6 +22,13 @@ public class ProjectController {
         return projectService.getAllProjectsPaged(page, size);
     }
 
+    // 커서 기반 목록: 첫 페이지는 cursor 없이, 다음 페이지는 응답의 next 값을 cursor 로 전달
+    @GetMapping("/cursor")
+    public com.lab.web.dto.CursorPage<Project> getProjectsByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                  @RequestParam(value = "size", defaultValue = "10") int size) {
+        return projectService.getProjectsAfter(cursor, size);
+    }
+
     @GetMapping("/{id}")
     public Project getOne(@PathVariable("id") Long id) {
         return projectService.getById(id);
@@ -1,21 +1,23 @@
 package com.lab.web;
 
+import com.lab.service.ImageDerivativeService;
+import com.lab.service.UploadStorageService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/upload")
+@RequiredArgsConstructor
 public class UploadController {
+    private final UploadStorageService uploadStorageService;
+    private final ImageDerivativeService imageDerivativeService;
 
     // 허용된 파일 확장자
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
@@ -40,6 +42,19 @@ public class UploadController {
         }
         
         String originalFilename = file.getOriginalFilename();
+        validateFileName(originalFilename);
+        
+        // 파일 저장 (내용 해시 기반 경로, 동일 파일은 한 번만 저장)
+        UploadStorageService.StoredFile stored = uploadStorageService.store(file.getInputStream(), originalFilename);
+        // 이미지면 축소본 생성을 백그라운드로 예약 (응답은 바로 반환)
+        imageDerivativeService.submit(stored.storedPath());
+        
+        // URL 생성
+        return Map.of("url", publicUrl(stored.storedPath()));
+    }
+    
+    // 파일명/확장자 검증 (청크 업로드에서도 사용)
+    static void validateFileName(String originalFilename) {
         if (originalFilename == null || originalFilename.isEmpty()) {
             throw new IllegalArgumentException("파일명이 올바르지 않습니다.");
         }
@@ -49,23 +64,14 @@ public class UploadController {
         if (!ALLOWED_EXTENSIONS.contains(extension)) {
             throw new IllegalArgumentException("허용되지 않은 파일 형식입니다. 허용 형식: " + String.join(", ", ALLOWED_EXTENSIONS));
         }
-        
-        // 파일명 정리 (경로 탐색 공격 방지)
-        String filename = System.currentTimeMillis() + "-" + StringUtils.cleanPath(originalFilename);
-        Path uploadDir = Paths.get("uploads");
-        Files.createDirectories(uploadDir);
-        Path dest = uploadDir.resolve(filename);
-        
-        // 파일 저장
-        Files.copy(file.getInputStream(), dest);
-        
-        // URL 생성
+    }
+    
+    static String publicUrl(String storedPath) {
         String base = System.getenv().getOrDefault("APP_BASE_URL", "http://localhost:8080");
-        String url = base.replaceAll("/$", "") + "/uploads/" + filename;
-        return Map.of("url", url);
+        return base.replaceAll("/$", "") + storedPath;
     }
     
-    private String getFileExtension(String filename) {
+    private static String getFileExtension(String filename) {
         int lastDot = filename.lastIndexOf('.');
         if (lastDot == -1 || lastDot == filename.length() - 1) {
             return "";
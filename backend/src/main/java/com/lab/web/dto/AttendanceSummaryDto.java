@@ -0,0 +1,16 @@
+package com.lab.web.dto;
+
+import java.util.List;
+
+public record AttendanceSummaryDto(
+    String from,
+    String to,
+    String lateAfter,
+    List<String> columns,
+    List<Month> months
+) {
+    // rows: columns 순서의 값 배열 (구성원당 한 줄)
+    public record Month(String month, boolean cached, List<List<Object>> rows) {}
+}
+
+// 출퇴근 통계 요약 DTO입니다. 엔티티 대신 열 이름 + 값 배열(행렬)로 전달합니다.
@@ -0,0 +1,42 @@
+package com.lab.web.dto;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+    List<T> items,
+    String next
+) {
+    // (createdAt, id) 위치를 나타내는 커서
+    public record Position(Instant createdAt, long id) {}
+
+    /**
+     * size+1 개를 조회한 결과로 페이지를 만듭니다. 남는 1개가 있으면 마지막 항목 위치를 next 토큰으로 돌려줍니다.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Position> position) {
+        if (fetched.size() <= size) return new CursorPage<>(fetched, null);
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), encode(position.apply(items.get(size - 1))));
+    }
+
+    public static String encode(Position p) {
+        String raw = p.createdAt().getEpochSecond() + "." + p.createdAt().getNano() + "." + p.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Position decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\.");
+            return new Position(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
+
+// 커서(키셋) 페이지 DTO입니다. next 토큰은 (createdAt, id)를 인코딩한 불투명 문자열입니다.
@@ -0,0 +1,33 @@
+package com.lab.web.dto;
+
+import com.lab.repository.NoticeSummaryRow;
+
+import java.time.Instant;
+
+public record NoticeSummaryDto(
+    Long id,
+    String title,
+    String category,
+    boolean pinned,
+    Instant createdAt,
+    Author author,
+    String excerpt,
+    long attachmentCount
+) {
+    public record Author(Long id, String name) {}
+
+    public static NoticeSummaryDto from(NoticeSummaryRow row) {
+        return new NoticeSummaryDto(
+            row.id(),
+            row.title(),
+            row.category(),
+            row.pinned(),
+            row.createdAt(),
+            row.authorId() == null ? null : new Author(row.authorId(), row.authorName()),
+            row.excerpt(),
+            row.attachmentCount()
+        );
+    }
+}
+
+// 공지 목록용 요약 DTO입니다. 본문 대신 요약(excerpt)과 첨부 개수만 포함합니다.
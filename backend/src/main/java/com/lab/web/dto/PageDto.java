@@ -0,0 +1,26 @@
+package com.lab.web.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record PageDto<T>(
+    List<T> content,
+    int number,
+    int size,
+    long totalElements,
+    int totalPages
+) {
+    public static <S, T> PageDto<T> of(Page<S> page, Function<S, T> mapper) {
+        return new PageDto<>(
+            page.getContent().stream().map(mapper).toList(),
+            page.getNumber(),
+            page.getSize(),
+            page.getTotalElements(),
+            page.getTotalPages()
+        );
+    }
+}
+
+// Spring Page 직렬화 대신 목록 화면에 필요한 필드만 담는 페이지 DTO입니다.
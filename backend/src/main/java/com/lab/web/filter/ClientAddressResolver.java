@@ -0,0 +1,81 @@
+package com.lab.web.filter;
+
+import com.lab.util.CidrMatcher;
+import com.lab.util.IpAddresses;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ClientAddressResolver {
+    private static final String ATTRIBUTE = ClientAddressResolver.class.getName() + ".address";
+
+    // 기본은 같은 호스트의 프록시만 신뢰. 사설망 전체를 믿으면 같은 LAN 의 누구나 헤더로 주소를 바꿀 수 있음
+    static final String DEFAULT_TRUSTED_PROXIES = "127.0.0.1,::1";
+
+    // 이 대역에서 온 요청만 X-Forwarded-For / X-Real-IP 를 믿음 (리버스 프록시 주소만 지정)
+    @Value("${client-address.trusted-proxies:" + DEFAULT_TRUSTED_PROXIES + "}")
+    private String trustedProxiesConfig;
+
+    private CidrMatcher trustedProxies;
+
+    // ip: 표시/토큰용 문자열, bytes: 파싱된 주소 (파싱 불가 시 null)
+    public record ClientAddress(String ip, byte[] bytes) {}
+
+    @PostConstruct
+    void init() {
+        trustedProxies = CidrMatcher.parse(trustedProxiesConfig);
+    }
+
+    /**
+     * 신뢰하는 프록시 대역이 주어진 대역과 겹치면 true. 허용 대역과 겹치면 그 안의 단말이
+     * X-Forwarded-For 로 다른 허용 주소인 척할 수 있으므로, 허용 목록을 쓰는 쪽에서 기동 시 확인합니다.
+     */
+    public boolean trustsAnyOf(CidrMatcher networks) {
+        return trustedProxies.overlaps(networks);
+    }
+
+    /**
+     * 요청의 실제 클라이언트 주소를 돌려줍니다. 요청당 한 번만 계산하고 요청 속성에 보관합니다.
+     * 직접 연결한 주소가 신뢰하는 프록시일 때만 X-Forwarded-For 를 오른쪽부터 따라가며,
+     * 신뢰하지 않는 첫 주소를 클라이언트로 봅니다. 그 외에는 헤더를 무시하고 연결 주소를 사용합니다.
+     */
+    public ClientAddress resolve(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof ClientAddress cached) {
+            return cached;
+        }
+        ClientAddress address = compute(request);
+        request.setAttribute(ATTRIBUTE, address);
+        return address;
+    }
+
+    private ClientAddress compute(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        byte[] remoteBytes = IpAddresses.parse(remote);
+        ClientAddress current = new ClientAddress(remote != null ? remote : "unknown", remoteBytes);
+        if (!trustedProxies.matches(remoteBytes)) {
+            return current;
+        }
+
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            String realIp = request.getHeader("X-Real-IP");
+            byte[] realBytes = IpAddresses.parse(realIp);
+            return realBytes != null ? new ClientAddress(realIp.trim(), realBytes) : current;
+        }
+
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            byte[] hopBytes = IpAddresses.parse(hop);
+            // 형식이 잘못된 값(클라이언트가 임의로 넣은 값 등)에서 멈추고 마지막으로 확인한 주소 사용
+            if (hopBytes == null) return current;
+            current = new ClientAddress(hop, hopBytes);
+            if (!trustedProxies.matches(hopBytes)) return current;
+        }
+        return current;
+    }
+}
+
+// 클라이언트 주소 판별기입니다. 신뢰하는 프록시가 전달한 X-Forwarded-For 만 사용합니다.
@@ -1,31 +1,62 @@
 package com.lab.web.filter;
 
+import com.lab.service.JdbcRateLimiter;
+import com.lab.util.IpAddresses;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
     
-    // IP별 버킷 저장소
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    
+    private final MeterRegistry meterRegistry;
+
+    // rate-limit.mode=jdbc 일 때만 존재 (여러 서버가 한도를 공유). DB 장애 시 로컬 버킷으로 대체
+    private final JdbcRateLimiter jdbcRateLimiter;
+
+    private final ClientAddressResolver clientAddressResolver;
+
+    // 제한 종류별 IP 버킷 테이블 (키: IpAddresses.rateLimitKey)
+    private BucketTable loginTable;
+    private BucketTable uploadTable;
+    private BucketTable chunkTable;
+    private BucketTable generalTable;
+
+    // 테이블당 최대 버킷 수 (초과 시 가장 오래 사용되지 않은 버킷부터 제거)
+    @Value("${rate-limit.store.max-entries:100000}")
+    private int maxEntries;
+
+    // 유휴 버킷 정리 주기
+    @Value("${rate-limit.store.sweep-interval-seconds:60}")
+    private int sweepIntervalSeconds;
+
     // 일반 API Rate Limiting 설정
     @Value("${rate-limit.general.requests:100}")
     private int generalRequests;
@@ -47,18 +78,48 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     @Value("${rate-limit.upload.window-minutes:1}")
     private int uploadWindowMinutes;
 
+    // 청크 업로드의 청크 전송/상태 조회/취소 (시작과 완료는 파일 업로드 한도로 셈)
+    // 0 이면 큰 파일 하나를 한 윈도우 안에 올릴 수 있도록 (최대 파일 크기 / 최대 청크 크기) x 2 로 계산
+    @Value("${rate-limit.chunk.requests:0}")
+    private int chunkRequests;
+
+    @Value("${rate-limit.chunk.window-minutes:1}")
+    private int chunkWindowMinutes;
+
+    @Value("${upload.chunked.max-file-size:2GB}")
+    private DataSize chunkedMaxFileSize;
+
+    @Value("${upload.chunked.max-chunk-size:16MB}")
+    private DataSize chunkedMaxChunkSize;
+
+    public RateLimitingFilter(MeterRegistry meterRegistry, ObjectProvider<JdbcRateLimiter> jdbcRateLimiter,
+                              ClientAddressResolver clientAddressResolver) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcRateLimiter = jdbcRateLimiter.getIfAvailable();
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @PostConstruct
+    void initTables() {
+        loginTable = new BucketTable("login", loginRequests, loginWindowMinutes);
+        uploadTable = new BucketTable("upload", uploadRequests, uploadWindowMinutes);
+        chunkTable = new BucketTable("chunk", chunkRequests > 0 ? chunkRequests : defaultChunkRequests(), chunkWindowMinutes);
+        generalTable = new BucketTable("general", generalRequests, generalWindowMinutes);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
         String uri = request.getRequestURI();
-        String clientIp = getClientIp(request);
+        ClientAddressResolver.ClientAddress client = clientAddressResolver.resolve(request);
+        String clientIp = client.ip();
         
         // Rate Limiting 적용 대상 확인
-        Bucket bucket = getBucket(clientIp, uri);
+        BucketTable table = tableFor(request.getMethod(), uri);
         
-        if (bucket != null) {
-            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (table != null) {
+            ConsumptionProbe probe = consume(table, IpAddresses.rateLimitKey(client.bytes()));
             
             if (!probe.isConsumed()) {
                 // Rate limit 초과
@@ -68,7 +129,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                 
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 response.setContentType("application/json;charset=UTF-8");
-                response.setHeader("X-RateLimit-Limit", String.valueOf(getLimitForUri(uri)));
+                response.setHeader("X-RateLimit-Limit", String.valueOf(table.requests));
                 response.setHeader("X-RateLimit-Retry-After", String.valueOf(waitTime));
                 response.getWriter().write("{\"message\":\"요청이 너무 많습니다. 잠시 후 다시 시도해주세요.\"}");
                 return;
@@ -76,78 +137,151 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             
             // 남은 요청 수 헤더에 추가
             response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
-            response.setHeader("X-RateLimit-Limit", String.valueOf(getLimitForUri(uri)));
+            response.setHeader("X-RateLimit-Limit", String.valueOf(table.requests));
         }
         
         filterChain.doFilter(request, response);
     }
     
-    private Bucket getBucket(String clientIp, String uri) {
+    private ConsumptionProbe consume(BucketTable table, long key) {
+        if (jdbcRateLimiter != null) {
+            ConsumptionProbe shared = jdbcRateLimiter.tryConsume(table.name, key, table.requests, table.window);
+            if (shared != null) return shared;
+        }
+        return table.get(key).tryConsumeAndReturnRemaining(1);
+    }
+
+    // 재시도/상태 조회 여유를 두어 최대 크기 파일 하나에 필요한 청크 수의 두 배
+    private int defaultChunkRequests() {
+        long chunkBytes = Math.max(1, chunkedMaxChunkSize.toBytes());
+        long chunks = (chunkedMaxFileSize.toBytes() + chunkBytes - 1) / chunkBytes;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, chunks) * 2);
+    }
+
+    private BucketTable tableFor(String method, String uri) {
         // 로그인 API는 더 엄격한 제한
         if (uri.startsWith("/api/auth/login")) {
-            return buckets.computeIfAbsent("login:" + clientIp, key -> 
-                createBucket(loginRequests, loginWindowMinutes));
+            return loginTable;
         }
         
+        // 청크 업로드: 시작(POST /api/chunked-uploads)과 완료는 파일 업로드 한도, 청크 전송 등은 별도 한도
+        if (uri.startsWith("/api/chunked-uploads")) {
+            boolean initOrComplete = "POST".equals(method)
+                    && (uri.equals("/api/chunked-uploads") || uri.equals("/api/chunked-uploads/") || uri.endsWith("/complete"));
+            return initOrComplete ? uploadTable : chunkTable;
+        }
+
         // 파일 업로드는 별도 제한
         if (uri.startsWith("/api/upload")) {
-            return buckets.computeIfAbsent("upload:" + clientIp, key -> 
-                createBucket(uploadRequests, uploadWindowMinutes));
+            return uploadTable;
         }
         
         // 일반 API는 기본 제한
         if (uri.startsWith("/api/")) {
-            return buckets.computeIfAbsent("general:" + clientIp, key -> 
-                createBucket(generalRequests, generalWindowMinutes));
+            return generalTable;
         }
         
         // 나머지는 Rate Limiting 적용 안 함
         return null;
     }
+
+    /**
+     * 한 가지 제한 종류의 IP별 버킷 저장소.
+     * 윈도우 시간 이상 쓰이지 않은 버킷은 이미 가득 채워진 상태와 같으므로 제거해도 동작이 바뀌지 않습니다.
+     * 최대 개수를 넘으면 마지막 사용 시각이 오래된 순으로 제거합니다.
+     */
+    private final class BucketTable {
+        private final String name;
+        private final int requests;
+        private final Duration window;
+        private final long idleNanos;
+        private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+        private final Counter idleEvictions;
+        private final Counter capacityEvictions;
+        private volatile long nextSweepAt;
+
+        BucketTable(String name, int requests, int windowMinutes) {
+            this.name = name;
+            this.requests = requests;
+            this.window = Duration.ofMinutes(windowMinutes);
+            this.idleNanos = window.toNanos();
+            this.nextSweepAt = System.nanoTime() + sweepNanos();
+            Gauge.builder("rate_limit.buckets", slots, Map::size)
+                    .description("현재 보관 중인 요청 제한 버킷 수")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+            idleEvictions = Counter.builder("rate_limit.evictions").tag("limit", name).tag("reason", "idle").register(meterRegistry);
+            capacityEvictions = Counter.builder("rate_limit.evictions").tag("limit", name).tag("reason", "capacity").register(meterRegistry);
+        }
+
+        Bucket get(long key) {
+            long now = System.nanoTime();
+            Slot slot = slots.get(key);
+            if (slot == null) {
+                slot = slots.computeIfAbsent(key, k -> new Slot(createBucket(requests, window)));
+            }
+            slot.lastAccess = now;
+            if (now - nextSweepAt >= 0 || slots.size() > maxEntries) {
+                sweep(now);
+            }
+            return slot.bucket;
+        }
+
+        private void sweep(long now) {
+            if (!sweeping.compareAndSet(false, true)) return;
+            try {
+                nextSweepAt = now + sweepNanos();
+                int idle = 0;
+                for (var it = slots.values().iterator(); it.hasNext(); ) {
+                    if (now - it.next().lastAccess > idleNanos) {
+                        it.remove();
+                        idle++;
+                    }
+                }
+                idleEvictions.increment(idle);
+                int overflow = slots.size() - maxEntries;
+                if (overflow > 0) {
+                    // 한 번에 여유분(10%)까지 비워 매 요청마다 정렬하지 않도록 함
+                    int target = overflow + maxEntries / 10;
+                    List<Map.Entry<Long, Slot>> oldest = new ArrayList<>(slots.entrySet());
+                    oldest.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+                    int removed = 0;
+                    for (int i = 0; i < oldest.size() && removed < target; i++) {
+                        if (slots.remove(oldest.get(i).getKey(), oldest.get(i).getValue())) removed++;
+                    }
+                    capacityEvictions.increment(removed);
+                    logger.warn("Rate limit 버킷 수가 최대치를 넘어 오래된 버킷 {}개를 제거했습니다.", removed);
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+
+        private long sweepNanos() {
+            return Duration.ofSeconds(Math.max(1, sweepIntervalSeconds)).toNanos();
+        }
+    }
+
+    private static final class Slot {
+        final Bucket bucket;
+        volatile long lastAccess;
+
+        Slot(Bucket bucket) {
+            this.bucket = bucket;
+        }
+    }
     
-    private Bucket createBucket(int requests, int windowMinutes) {
+    private Bucket createBucket(int requests, Duration window) {
         Bandwidth limit = Bandwidth.classic(
             requests, 
-            Refill.intervally(requests, java.time.Duration.ofMinutes(windowMinutes))
+            Refill.intervally(requests, window)
         );
         return Bucket.builder()
                 .addLimit(limit)
                 .build();
     }
     
-    private int getLimitForUri(String uri) {
-        if (uri.startsWith("/api/auth/login")) {
-            return loginRequests;
-        }
-        if (uri.startsWith("/api/upload")) {
-            return uploadRequests;
-        }
-        if (uri.startsWith("/api/")) {
-            return generalRequests;
-        }
-        return 0;
-    }
-    
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // X-Forwarded-For는 여러 IP가 콤마로 구분될 수 있음 (첫 번째가 실제 클라이언트 IP)
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip != null ? ip : "unknown";
-    }
 }
 
 // Rate Limiting 필터입니다. IP 기반으로 요청 수를 제한하여 무차별 대입 공격을 방지합니다.
@@ -0,0 +1,153 @@
+package com.lab.service;
+
+import com.lab.app.LabApplication;
+import com.lab.domain.RateLimitBucket;
+import com.lab.repository.RateLimitBucketRepository;
+import io.github.bucket4j.ConsumptionProbe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 운영과 같은 SQL 이 H2(MySQL 모드)에서도 동작하는지 확인. 필터처럼 트랜잭션 밖에서 호출함
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimit;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = LabApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcRateLimiterTest {
+    // 테스트 도중 윈도우가 바뀌지 않도록 넉넉하게
+    private static final Duration WINDOW = Duration.ofDays(1);
+    private static final long CLIENT = 0xac150001L;
+
+    @Autowired
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    @AfterEach
+    void clear() {
+        rateLimitBucketRepository.deleteAll();
+    }
+
+    private JdbcRateLimiter limiter(RateLimitBucketRepository repository) {
+        JdbcRateLimiter limiter = new JdbcRateLimiter(repository);
+        ReflectionTestUtils.setField(limiter, "leaseSize", 10);
+        // 정리 기준은 윈도우보다 길어야 현재 윈도우 행이 지워지지 않음
+        ReflectionTestUtils.setField(limiter, "purgeAfterMinutes", WINDOW.multipliedBy(2).toMinutes());
+        ReflectionTestUtils.setField(limiter, "maxLeases", 100_000);
+        ReflectionTestUtils.setField(limiter, "sweepIntervalSeconds", 60);
+        return limiter;
+    }
+
+    private RateLimitBucket row(String limit) {
+        return rateLimitBucketRepository.findById(limit + ":" + Long.toHexString(CLIENT)).orElseThrow();
+    }
+
+    private static long currentWindowStart() {
+        long now = System.currentTimeMillis();
+        return now - Math.floorMod(now, WINDOW.toMillis());
+    }
+
+    @Test
+    void firstRequestInsertsRow() {
+        ConsumptionProbe probe = limiter(rateLimitBucketRepository).tryConsume("login", CLIENT, 100, WINDOW);
+
+        assertNotNull(probe);
+        assertTrue(probe.isConsumed());
+        assertEquals(99, probe.getRemainingTokens());
+        RateLimitBucket row = row("login");
+        assertEquals(currentWindowStart(), row.getWindowStart());
+        assertEquals(10, row.getUsed());
+        assertEquals(0, row.getRowVersion());
+    }
+
+    @Test
+    void leaseIsCappedAtTenthOfLimit() {
+        JdbcRateLimiter limiter = limiter(rateLimitBucketRepository);
+
+        // 한도 50 이면 한 번에 5 개까지만 가져옴
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryConsume("upload", CLIENT, 50, WINDOW).isConsumed());
+        }
+        assertEquals(5, row("upload").getUsed());
+
+        assertTrue(limiter.tryConsume("upload", CLIENT, 50, WINDOW).isConsumed());
+        RateLimitBucket row = row("upload");
+        assertEquals(10, row.getUsed());
+        assertEquals(1, row.getRowVersion());
+    }
+
+    @Test
+    void limitIsSharedAcrossNodes() {
+        JdbcRateLimiter first = limiter(rateLimitBucketRepository);
+        JdbcRateLimiter second = limiter(rateLimitBucketRepository);
+
+        int consumed = 0;
+        for (int i = 0; i < 30; i++) {
+            if (first.tryConsume("general", CLIENT, 20, WINDOW).isConsumed()) consumed++;
+            if (second.tryConsume("general", CLIENT, 20, WINDOW).isConsumed()) consumed++;
+        }
+
+        assertEquals(20, consumed);
+        assertEquals(20, row("general").getUsed());
+        assertFalse(first.tryConsume("general", CLIENT, 20, WINDOW).isConsumed());
+        assertFalse(second.tryConsume("general", CLIENT, 20, WINDOW).isConsumed());
+    }
+
+    @Test
+    void newWindowResetsExhaustedRow() {
+        String key = "login:" + Long.toHexString(CLIENT);
+        // 지난 윈도우에서 한도를 모두 쓴 행
+        rateLimitBucketRepository.insertNew(key, currentWindowStart() - WINDOW.toMillis(), 20);
+
+        ConsumptionProbe probe = limiter(rateLimitBucketRepository).tryConsume("login", CLIENT, 20, WINDOW);
+
+        assertTrue(probe.isConsumed());
+        RateLimitBucket row = row("login");
+        assertEquals(currentWindowStart(), row.getWindowStart());
+        assertEquals(2, row.getUsed());
+        assertEquals(1, row.getRowVersion());
+    }
+
+    @Test
+    void duplicateInsertFallsBackToUpdate() {
+        String key = "login:" + Long.toHexString(CLIENT);
+        // 다른 노드가 조회와 삽입 사이에 같은 행을 먼저 만든 상황
+        rateLimitBucketRepository.insertNew(key, currentWindowStart(), 4);
+        RateLimitBucketRepository racing = mock(RateLimitBucketRepository.class, delegatesTo(rateLimitBucketRepository));
+        doReturn(Optional.empty()).doAnswer(invocation -> rateLimitBucketRepository.findById(key))
+                .when(racing).findById(key);
+
+        ConsumptionProbe probe = limiter(racing).tryConsume("login", CLIENT, 20, WINDOW);
+
+        assertNotNull(probe);
+        assertTrue(probe.isConsumed());
+        verify(racing, times(1)).insertNew(key, currentWindowStart(), 2);
+        verify(racing, times(2)).findById(key);
+        RateLimitBucket row = row("login");
+        assertEquals(6, row.getUsed());
+        assertEquals(1, row.getRowVersion());
+    }
+}
+
+// 분산 요청 제한(JdbcRateLimiter)이 공유 테이블에서 한도를 지키는지 확인하는 테스트입니다.
@@ -0,0 +1,69 @@
+package com.lab.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadGarbageCollectorTest {
+    private static NavigableSet<String> refs(String... values) {
+        return new TreeSet<>(List.of(values));
+    }
+
+    @Test
+    void exactReferenceKeepsFile() {
+        assertTrue(UploadGarbageCollector.isReferenced("ab/cd/hash.png", refs("ab/cd/hash.png")));
+    }
+
+    @Test
+    void referenceTruncatedAtSpaceKeepsLegacyFile() {
+        // 예전 색인: ![image](http://host/uploads/1700000000-lab photo (1).png) 에서 공백 앞까지만 저장됨
+        NavigableSet<String> referenced = refs("1700000000-lab");
+        assertTrue(UploadGarbageCollector.isReferenced("1700000000-lab photo (1).png", referenced));
+    }
+
+    @Test
+    void referenceTruncatedAtParenthesisKeepsLegacyFile() {
+        assertTrue(UploadGarbageCollector.isReferenced("1700000000-report(final).pdf", refs("1700000000-report")));
+    }
+
+    @Test
+    void referenceWithTrailingTextKeepsFile() {
+        assertTrue(UploadGarbageCollector.isReferenced("1700000000-a.png", refs("1700000000-a.png)")));
+    }
+
+    @Test
+    void unrelatedFileIsNotReferenced() {
+        NavigableSet<String> referenced = refs("1700000000-lab", "ab/cd/other.png");
+        assertFalse(UploadGarbageCollector.isReferenced("1700000001-lab photo.png", referenced));
+        assertFalse(UploadGarbageCollector.isReferenced("ab/cd/hash.png", referenced));
+        // 공백/괄호가 아닌 곳에서 잘린 값은 다른 파일
+        assertFalse(UploadGarbageCollector.isReferenced("1700000000-labs.png", referenced));
+    }
+
+    @Test
+    void leftoverTempFilesAreRecognized() {
+        assertTrue(UploadGarbageCollector.isLeftoverTemp(".tmp/up-123456789.part"));
+        assertTrue(UploadGarbageCollector.isLeftoverTemp("ab/cd/.variant-123456789.jpg"));
+        assertTrue(UploadGarbageCollector.isLeftoverTemp(".variant-123456789.png"));
+        // 업로드 파일, 청크 업로드 중인 파일, 다른 숨김 파일은 해당하지 않음
+        assertFalse(UploadGarbageCollector.isLeftoverTemp("ab/cd/hash.png"));
+        assertFalse(UploadGarbageCollector.isLeftoverTemp(".partial/abc/up-1.part"));
+        assertFalse(UploadGarbageCollector.isLeftoverTemp(".partial/.variant-1.png"));
+        assertFalse(UploadGarbageCollector.isLeftoverTemp(".tmp/other.part"));
+        assertFalse(UploadGarbageCollector.isLeftoverTemp("ab/.keep"));
+    }
+
+    @Test
+    void decodeKeepsPlusAndToleratesMalformedInput() {
+        assertEquals("1700000000-lab photo (1).png", UploadStorageService.decode("1700000000-lab%20photo%20(1).png"));
+        assertEquals("연구실 사진.png", UploadStorageService.decode("%EC%97%B0%EA%B5%AC%EC%8B%A4%20%EC%82%AC%EC%A7%84.png"));
+        assertEquals("a+b.png", UploadStorageService.decode("a+b.png"));
+        assertEquals("100%.png", UploadStorageService.decode("100%.png"));
+    }
+}
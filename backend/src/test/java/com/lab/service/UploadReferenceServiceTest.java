@@ -0,0 +1,71 @@
+package com.lab.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadReferenceServiceTest {
+    private static final String BLOB = "/uploads/ab/cd/" + "ab".repeat(32) + ".png";
+
+    @Test
+    void markdownImageWithSpacesAndParentheses() {
+        Set<String> paths = UploadReferenceService.extract(
+                "사진 ![image](http://172.21.166.238:3000/uploads/1700000000-lab photo (1).png) 끝");
+        assertEquals(Set.of("/uploads/1700000000-lab photo (1).png"), paths);
+    }
+
+    @Test
+    void markdownFileLinkWithKoreanName() {
+        Set<String> paths = UploadReferenceService.extract("[파일](/uploads/1700000000-연구 계획서 (최종).hwp)");
+        assertEquals(Set.of("/uploads/1700000000-연구 계획서 (최종).hwp"), paths);
+    }
+
+    @Test
+    void percentEncodedLinkIsDecoded() {
+        Set<String> paths = UploadReferenceService.extract(
+                "![x](/uploads/1700000000-%EC%97%B0%EA%B5%AC%EC%8B%A4%20%EC%82%AC%EC%A7%84.png?w=800)");
+        assertEquals(Set.of("/uploads/1700000000-연구실 사진.png"), paths);
+    }
+
+    @Test
+    void markdownTitleAndAngleBrackets() {
+        Set<String> paths = UploadReferenceService.extract(
+                "![a](/uploads/1700000000-a b.png \"제목\")\n![b](</uploads/1700000001-c (2).png>)");
+        assertEquals(Set.of("/uploads/1700000000-a b.png", "/uploads/1700000001-c (2).png"), paths);
+    }
+
+    @Test
+    void htmlAttributesKeepWholeValue() {
+        Set<String> paths = UploadReferenceService.extract(
+                "<img src=\"/uploads/1700000000-lab photo (1).png\" alt=\"x\"> <a href='/uploads/1700000001-자료 모음.zip'>받기</a>");
+        assertEquals(Set.of("/uploads/1700000000-lab photo (1).png", "/uploads/1700000001-자료 모음.zip"), paths);
+    }
+
+    @Test
+    void bareUrlsAndBlobPaths() {
+        Set<String> paths = UploadReferenceService.extract(
+                "주소: http://host/uploads/1700000000-report.pdf 참고\n![](" + BLOB + ")");
+        assertEquals(Set.of("/uploads/1700000000-report.pdf", BLOB), paths);
+    }
+
+    @Test
+    void linkIsNotAlsoIndexedInTruncatedForm() {
+        Set<String> paths = UploadReferenceService.extract("![image](/uploads/1700000000-lab photo (1).png)");
+        assertEquals(1, paths.size());
+    }
+
+    @Test
+    void overlongPathsAreSkipped() {
+        String longName = "/uploads/" + "가".repeat(600) + ".png";
+        assertTrue(UploadReferenceService.extract("![x](" + longName + ")").isEmpty());
+    }
+
+    @Test
+    void textWithoutUploadsIsEmpty() {
+        assertTrue(UploadReferenceService.extract("![x](https://example.com/a (1).png)").isEmpty());
+        assertTrue(UploadReferenceService.extract(null).isEmpty());
+    }
+}
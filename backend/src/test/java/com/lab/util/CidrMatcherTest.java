@@ -0,0 +1,44 @@
+package com.lab.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CidrMatcherTest {
+    @Test
+    void matchesSingleAddressesAndPrefixes() {
+        CidrMatcher matcher = CidrMatcher.parse("172.21.166.212/30,192.168.0.11,fc00::/7");
+
+        assertTrue(matcher.matches("172.21.166.215"));
+        assertFalse(matcher.matches("172.21.166.216"));
+        assertTrue(matcher.matches("192.168.0.11"));
+        assertFalse(matcher.matches("192.168.0.12"));
+        assertTrue(matcher.matches("fd00::1"));
+        assertFalse(matcher.matches("not-an-ip"));
+    }
+
+    @Test
+    void overlapsWhenEitherRangeContainsTheOther() {
+        CidrMatcher allowed = CidrMatcher.parse("172.21.166.211/32,192.168.0.11");
+
+        assertTrue(CidrMatcher.parse("172.16.0.0/12").overlaps(allowed));
+        assertTrue(allowed.overlaps(CidrMatcher.parse("192.168.0.0/16")));
+        assertTrue(CidrMatcher.parse("172.21.166.211").overlaps(allowed));
+        assertFalse(CidrMatcher.parse("127.0.0.1,::1,10.250.0.10").overlaps(allowed));
+        assertFalse(CidrMatcher.parse("172.21.166.212/30").overlaps(allowed));
+    }
+
+    @Test
+    void emptyListOverlapsNothing() {
+        assertFalse(CidrMatcher.parse("").overlaps(CidrMatcher.parse("0.0.0.0/0")));
+        assertFalse(CidrMatcher.parse("0.0.0.0/0").overlaps(CidrMatcher.parse(null)));
+    }
+
+    @Test
+    void rejectsMalformedEntries() {
+        assertThrows(IllegalArgumentException.class, () -> CidrMatcher.parse("10.0.0.0/33"));
+        assertThrows(IllegalArgumentException.class, () -> CidrMatcher.parse("10.0.0/8"));
+    }
+}
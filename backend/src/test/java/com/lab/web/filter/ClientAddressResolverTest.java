@@ -0,0 +1,74 @@
+package com.lab.web.filter;
+
+import com.lab.util.CidrMatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientAddressResolverTest {
+    // application.yml 의 출퇴근 허용 대역 기본값
+    private static final String ALLOWED_IPS = "172.21.166.211/32,172.21.166.212/30,172.21.166.216/29,"
+            + "172.21.166.224/29,172.21.166.232/29,172.21.166.240/32,192.168.0.11";
+
+    private static ClientAddressResolver resolver(String trustedProxies) {
+        ClientAddressResolver resolver = new ClientAddressResolver();
+        ReflectionTestUtils.setField(resolver, "trustedProxiesConfig", trustedProxies);
+        resolver.init();
+        return resolver;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+
+    @Test
+    void lanClientCannotSpoofAllowedAddressWithDefaults() {
+        ClientAddressResolver resolver = resolver(ClientAddressResolver.DEFAULT_TRUSTED_PROXIES);
+        CidrMatcher allowed = CidrMatcher.parse(ALLOWED_IPS);
+
+        ClientAddressResolver.ClientAddress address =
+                resolver.resolve(request("172.21.166.50", "172.21.166.211"));
+
+        assertEquals("172.21.166.50", address.ip());
+        assertFalse(allowed.matches(address.bytes()));
+    }
+
+    @Test
+    void defaultsDoNotOverlapAllowedNetworks() {
+        assertFalse(resolver(ClientAddressResolver.DEFAULT_TRUSTED_PROXIES).trustsAnyOf(CidrMatcher.parse(ALLOWED_IPS)));
+    }
+
+    @Test
+    void privateRangesOverlapAllowedNetworks() {
+        ClientAddressResolver resolver = resolver("127.0.0.0/8,::1,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,fc00::/7");
+        assertTrue(resolver.trustsAnyOf(CidrMatcher.parse(ALLOWED_IPS)));
+    }
+
+    @Test
+    void trustedProxyPassesThroughAppendedClient() {
+        ClientAddressResolver resolver = resolver("10.250.0.10/32");
+
+        // nginx 는 클라이언트가 보낸 값 뒤에 실제 연결 주소를 붙임
+        ClientAddressResolver.ClientAddress address =
+                resolver.resolve(request("10.250.0.10", "172.21.166.211, 203.0.113.7"));
+
+        assertEquals("203.0.113.7", address.ip());
+    }
+
+    @Test
+    void untrustedPeerHeaderIsIgnored() {
+        ClientAddressResolver resolver = resolver("10.250.0.10/32");
+
+        ClientAddressResolver.ClientAddress address =
+                resolver.resolve(request("10.250.0.1", "172.21.166.211"));
+
+        assertEquals("10.250.0.1", address.ip());
+    }
+}